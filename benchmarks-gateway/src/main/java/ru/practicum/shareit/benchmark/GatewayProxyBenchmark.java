@@ -0,0 +1,222 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.booking.BookingClient;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.client.GatewayTransportFactory;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ResponseCacheProperties;
+import ru.practicum.shareit.client.RestTemplateTransport;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сравнивает два способа проксирования ответа сервера в gateway: разбор тела в {@code Object} с повторной
+ * сериализацией и передачу потока настоящим {@link BookingClient} на {@link RestTemplateTransport}. Ответ сервера
+ * отдаётся из памяти фабрикой запросов вместо пула HTTP-соединений, поэтому измеряется только работа самого gateway.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GatewayProxyBenchmark {
+    private static final String SERVER_URL = "http://localhost:9090";
+    private static final String URL = "?state={state}&from={from}&size={size}";
+
+    @Param({"10", "100", "1000"})
+    private int bookings;
+
+    private RestTemplate rest;
+    private ObjectMapper objectMapper;
+    private URI uri;
+    private HttpEntity<Void> requestEntity;
+    private BookingClient bookingClient;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        final byte[] payload = objectMapper.writeValueAsBytes(bookings(bookings));
+        final ClientHttpRequestFactory requestFactory = (requestUri, method) ->
+                new CannedRequest(requestUri, method, payload);
+        uri = URI.create(SERVER_URL + "/bookings?state=ALL&from=0&size=" + bookings);
+        rest = new RestTemplate(requestFactory);
+        final HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        headers.set("X-Sharer-User-Id", "1");
+        requestEntity = new HttpEntity<>(headers);
+        // как blockingTransportFactory в HttpClientConfig, но без пула соединений
+        final GatewayTransportFactory transportFactory = baseUrl -> new RestTemplateTransport(new RestTemplateBuilder()
+                .uriTemplateHandler(new DefaultUriBuilderFactory(baseUrl))
+                .requestFactory(() -> requestFactory)
+                .build());
+        bookingClient = new BookingClient(SERVER_URL, transportFactory,
+                new ResponseCache(new ResponseCacheProperties(), new SimpleMeterRegistry()));
+    }
+
+    @Benchmark
+    public long deserializeAndWrite() throws IOException {
+        final ResponseEntity<Object> response = rest.exchange(uri, HttpMethod.GET, requestEntity, Object.class);
+        final CountingOutputStream out = new CountingOutputStream();
+        objectMapper.writeValue(out, response.getBody());
+        return out.count;
+    }
+
+    @Benchmark
+    public long bookingClient() throws IOException {
+        final ResponseEntity<Object> response = bookingClient.getBookings(URL, 1L, BookingState.ALL, 0, bookings, null)
+                .block();
+        // тело пишет ResourceHttpMessageConverter: копирует поток ответа сервера и закрывает его
+        try (InputStream body = ((Resource) response.getBody()).getInputStream()) {
+            final CountingOutputStream out = new CountingOutputStream();
+            StreamUtils.copy(body, out);
+            return out.count;
+        }
+    }
+
+    private static List<Map<String, Object>> bookings(int size) {
+        final LocalDateTime now = LocalDateTime.now();
+        final List<Map<String, Object>> result = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) {
+            final Map<String, Object> booking = new LinkedHashMap<>();
+            booking.put("id", i);
+            booking.put("start", now.plusHours(i));
+            booking.put("end", now.plusHours(i + 1));
+            booking.put("status", "APPROVED");
+            booking.put("booker", Map.of("id", i, "name", "user" + i));
+            booking.put("item", Map.of("id", i, "name", "item" + i));
+            result.add(booking);
+        }
+        return result;
+    }
+
+    private static class CannedRequest implements ClientHttpRequest {
+        private final URI uri;
+        private final HttpMethod method;
+        private final byte[] payload;
+        private final HttpHeaders headers = new HttpHeaders();
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+        CannedRequest(URI uri, HttpMethod method, byte[] payload) {
+            this.uri = uri;
+            this.method = method;
+            this.payload = payload;
+        }
+
+        @Override
+        public ClientHttpResponse execute() {
+            return new ClientHttpResponse() {
+                private final HttpHeaders responseHeaders = new HttpHeaders();
+
+                {
+                    responseHeaders.setContentType(MediaType.APPLICATION_JSON);
+                    responseHeaders.setContentLength(payload.length);
+                }
+
+                @Override
+                public HttpStatus getStatusCode() {
+                    return HttpStatus.OK;
+                }
+
+                @Override
+                public int getRawStatusCode() {
+                    return HttpStatus.OK.value();
+                }
+
+                @Override
+                public String getStatusText() {
+                    return HttpStatus.OK.getReasonPhrase();
+                }
+
+                @Override
+                public void close() {
+                }
+
+                @Override
+                public InputStream getBody() {
+                    return new ByteArrayInputStream(payload);
+                }
+
+                @Override
+                public HttpHeaders getHeaders() {
+                    return responseHeaders;
+                }
+            };
+        }
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public String getMethodValue() {
+            return method.name();
+        }
+
+        @Override
+        public URI getURI() {
+            return uri;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.booking.BookingDto;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BookingServiceBenchmark {
+    private static final PageRequest PAGE = PageRequest.of(0, 20,
+            Sort.by("start").descending().and(Sort.by("id").descending()));
+
+    @Param({"ALL", "CURRENT", "PAST", "FUTURE", "WAITING"})
+    private String bookingState;
+
+    @Benchmark
+    public List<BookingDto> findAllByOwner(ShareItState state) {
+        return state.getBookingService().findAllByOwner(state.randomOwnerId(), bookingState, PAGE);
+    }
+
+    @Benchmark
+    public List<BookingDto> findAllByBooker(ShareItState state) {
+        return state.getBookingService().findAllByBooker(state.randomUserId(), bookingState, PAGE);
+    }
+}
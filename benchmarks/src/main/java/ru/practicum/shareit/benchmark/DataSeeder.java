@@ -0,0 +1,51 @@
+package ru.practicum.shareit.benchmark;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+public class DataSeeder {
+    public static final int USERS = 2_000;
+    public static final int OWNERS = 200;
+    public static final int REQUESTS = 5_000;
+    public static final int ITEMS = 10_000;
+    public static final int BOOKINGS = 100_000;
+    public static final int COMMENTS = 20_000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public DataSeeder(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void seed() {
+        if (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class) > 0) {
+            return;
+        }
+        jdbcTemplate.update("INSERT INTO users (id, name, email) " +
+                "SELECT x, 'user' || x, 'user' || x || '@mail.ru' FROM SYSTEM_RANGE(1, ?)", USERS);
+        jdbcTemplate.update("INSERT INTO item_request (id, description, requestor_id, created) " +
+                "SELECT x, 'request' || x, MOD(x, ?) + 1, DATEADD('MINUTE', -x, LOCALTIMESTAMP) " +
+                "FROM SYSTEM_RANGE(1, ?)", USERS, REQUESTS);
+        jdbcTemplate.update("INSERT INTO items (id, name, description, available, owner_id, request_id) " +
+                "SELECT x, 'item' || x, 'description of item ' || x, MOD(x, 10) <> 0, MOD(x, ?) + 1, " +
+                "CASEWHEN(MOD(x, 2) = 0, MOD(x, ?) + 1, NULL) FROM SYSTEM_RANGE(1, ?)", OWNERS, REQUESTS, ITEMS);
+        jdbcTemplate.update("INSERT INTO bookings (id, start_date, end_date, item_id, booker_id, status) " +
+                "SELECT x, DATEADD('HOUR', x / ? * 24 - 240, LOCALTIMESTAMP), " +
+                "DATEADD('HOUR', x / ? * 24 - 220, LOCALTIMESTAMP), MOD(x, ?) + 1, " +
+                "MOD(x, ? - ?) + ? + 1, CASEWHEN(MOD(x, 3) = 0, 'WAITING', 'APPROVED') FROM SYSTEM_RANGE(1, ?)",
+                ITEMS, ITEMS, ITEMS, USERS, OWNERS, OWNERS, BOOKINGS);
+        jdbcTemplate.update("INSERT INTO comments (id, text, item_id, author_id, created) " +
+                "SELECT x, 'comment' || x, MOD(x, ?) + 1, MOD(x, ? - ?) + ? + 1, LOCALTIMESTAMP " +
+                "FROM SYSTEM_RANGE(1, ?)", ITEMS, USERS, OWNERS, OWNERS, COMMENTS);
+        // id заданы явно: значение по умолчанию из последовательности с шагом 50 дало бы разреженные id
+        restartSequence("users_seq", USERS);
+        restartSequence("item_request_seq", REQUESTS);
+        restartSequence("items_seq", ITEMS);
+        restartSequence("bookings_seq", BOOKINGS);
+        restartSequence("comments_seq", COMMENTS);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    private void restartSequence(String sequence, int lastId) {
+        jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (lastId + 1));
+    }
+}
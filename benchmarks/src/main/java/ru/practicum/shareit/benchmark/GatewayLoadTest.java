@@ -0,0 +1,221 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.catalina.Context;
+import org.apache.catalina.LifecycleException;
+import org.apache.catalina.Wrapper;
+import org.apache.catalina.connector.Connector;
+import org.apache.catalina.startup.Tomcat;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Нагрузочный тест gateway. Поднимает заглушку сервера, отвечающую с задержкой, и держит заданное число
+ * одновременных запросов к gateway. Gateway должен быть запущен с {@code shareit-server.url}, указывающим на
+ * заглушку. Во время теста с actuator gateway снимаются пиковые значения числа потоков и занятой кучи.
+ * С {@code --stub-port=0} заглушка не поднимается, и тест можно направить прямо на сервер.
+ *
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar ru.practicum.shareit.benchmark.GatewayLoadTest \
+ *     --gateway=http://localhost:8080 --stub-port=9191 --stub-delay-ms=200 --concurrency=2000 --requests=20000
+ * java -cp benchmarks/target/benchmarks.jar ru.practicum.shareit.benchmark.GatewayLoadTest \
+ *     --gateway=http://localhost:9090 --stub-port=0 --path=/users --concurrency=2000 --requests=20000
+ * </pre>
+ */
+public class GatewayLoadTest {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    public static void main(String[] args) throws Exception {
+        final Map<String, String> options = options(args);
+        final String gateway = options.getOrDefault("gateway", "http://localhost:8080");
+        final int stubPort = Integer.parseInt(options.getOrDefault("stub-port", "9191"));
+        final long delay = Long.parseLong(options.getOrDefault("stub-delay-ms", "200"));
+        final int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "2000"));
+        final int requests = Integer.parseInt(options.getOrDefault("requests", "20000"));
+        final String path = options.getOrDefault("path", "/bookings?state=ALL&from=0&size=10");
+
+        final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(4);
+        final Tomcat stub = stubPort > 0 ? startStub(stubPort, delay, scheduler) : null;
+        final ExecutorService clientExecutor = Executors.newFixedThreadPool(8);
+        final HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(clientExecutor)
+                .build();
+        try {
+            run(client, gateway + path, Math.min(concurrency, 200), Math.min(requests, 2_000));
+            final Peaks peaks = new Peaks();
+            final Thread sampler = new Thread(() -> sample(client, gateway, peaks));
+            sampler.setDaemon(true);
+            sampler.start();
+            final Result result = run(client, gateway + path, concurrency, requests);
+            sampler.interrupt();
+
+            System.out.printf("concurrency=%d requests=%d errors=%d%n", concurrency, requests, result.errors);
+            if (stub != null) {
+                System.out.printf("throughput=%.0f req/s (ideal %.0f req/s for %d ms upstream delay)%n",
+                        result.throughput, concurrency * 1000.0 / delay, delay);
+            } else {
+                System.out.printf("throughput=%.0f req/s%n", result.throughput);
+            }
+            System.out.printf("latency p50=%d ms p99=%d ms max=%d ms%n",
+                    result.percentile(50), result.percentile(99), result.percentile(100));
+            System.out.printf("gateway peak live threads=%d, peak heap used=%d MB%n",
+                    peaks.threads.get(), peaks.heap.get() / (1024 * 1024));
+        } finally {
+            if (stub != null) {
+                stub.stop();
+                stub.destroy();
+            }
+            scheduler.shutdownNow();
+            clientExecutor.shutdownNow();
+        }
+    }
+
+    private static Result run(HttpClient client, String url, int concurrency, int requests)
+            throws InterruptedException {
+        final HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .header("X-Sharer-User-Id", "1")
+                .timeout(Duration.ofSeconds(60))
+                .build();
+        final Semaphore permits = new Semaphore(concurrency);
+        final CountDownLatch done = new CountDownLatch(requests);
+        final long[] latencies = new long[requests];
+        final AtomicInteger errors = new AtomicInteger();
+        final long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            permits.acquire();
+            final int index = i;
+            final long sent = System.nanoTime();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, e) -> {
+                        if (e != null || response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                        }
+                        latencies[index] = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - sent);
+                        permits.release();
+                        done.countDown();
+                    });
+        }
+        done.await();
+        final double seconds = (System.nanoTime() - start) / 1e9;
+        Arrays.sort(latencies);
+        return new Result(requests / seconds, errors.get(), latencies);
+    }
+
+    private static Tomcat startStub(int port, long delay, ScheduledExecutorService scheduler)
+            throws IOException, LifecycleException {
+        final byte[] payload = ("[{\"id\":1,\"start\":\"2030-01-01T10:00:00\",\"end\":\"2030-01-02T10:00:00\"," +
+                "\"status\":\"APPROVED\",\"booker\":{\"id\":1,\"name\":\"user\"},\"item\":{\"id\":1,\"name\":\"item\"}}]")
+                .getBytes(StandardCharsets.UTF_8);
+        final Tomcat stub = new Tomcat();
+        stub.setBaseDir(Files.createTempDirectory("shareit-stub").toString());
+        final Connector connector = new Connector();
+        connector.setPort(port);
+        connector.setProperty("maxConnections", "50000");
+        connector.setProperty("acceptCount", "10000");
+        stub.setConnector(connector);
+        final Context context = stub.addContext("", null);
+        final Wrapper servlet = Tomcat.addServlet(context, "stub", new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) {
+                final AsyncContext async = request.startAsync();
+                async.setTimeout(0);
+                scheduler.schedule(() -> respond(async, response, payload), delay, TimeUnit.MILLISECONDS);
+            }
+        });
+        servlet.setAsyncSupported(true);
+        context.addServletMappingDecoded("/*", "stub");
+        stub.start();
+        return stub;
+    }
+
+    private static void respond(AsyncContext async, HttpServletResponse response, byte[] payload) {
+        try {
+            response.setContentType("application/json");
+            response.setContentLength(payload.length);
+            response.getOutputStream().write(payload);
+        } catch (IOException ignored) {
+            // клиент уже отключился
+        } finally {
+            async.complete();
+        }
+    }
+
+    private static void sample(HttpClient client, String gateway, Peaks peaks) {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                peaks.threads.accumulateAndGet((long) metric(client, gateway, "jvm.threads.live"), Math::max);
+                peaks.heap.accumulateAndGet((long) metric(client, gateway, "jvm.memory.used?tag=area:heap"), Math::max);
+                Thread.sleep(250);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private static double metric(HttpClient client, String gateway, String name)
+            throws IOException, InterruptedException {
+        final HttpRequest request = HttpRequest.newBuilder(URI.create(gateway + "/actuator/metrics/" + name)).build();
+        final JsonNode body = MAPPER.readTree(client.send(request, HttpResponse.BodyHandlers.ofString()).body());
+        return body.path("measurements").path(0).path("value").asDouble();
+    }
+
+    private static Map<String, String> options(String[] args) {
+        final Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            final int separator = arg.indexOf('=');
+            if (arg.startsWith("--") && separator > 2) {
+                options.put(arg.substring(2, separator), arg.substring(separator + 1));
+            }
+        }
+        return options;
+    }
+
+    private static class Peaks {
+        private final AtomicLong threads = new AtomicLong();
+        private final AtomicLong heap = new AtomicLong();
+    }
+
+    private static class Result {
+        private final double throughput;
+        private final int errors;
+        private final long[] latencies;
+
+        Result(double throughput, int errors, long[] latencies) {
+            this.throughput = throughput;
+            this.errors = errors;
+            this.latencies = latencies;
+        }
+
+        long percentile(int percent) {
+            final int index = Math.min(latencies.length - 1, (int) Math.ceil(latencies.length * percent / 100.0) - 1);
+            return latencies[Math.max(index, 0)];
+        }
+    }
+}
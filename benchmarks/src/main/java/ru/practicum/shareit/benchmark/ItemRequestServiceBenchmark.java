@@ -0,0 +1,35 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.request.ItemRequestDto;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ItemRequestServiceBenchmark {
+    private static final PageRequest PAGE = PageRequest.of(0, 20,
+            Sort.by("created").descending().and(Sort.by("id").descending()));
+
+    @Benchmark
+    public List<ItemRequestDto> findAllRequestByOwner(ShareItState state) {
+        return state.getItemRequestService().findAllRequestByOwner(state.randomUserId());
+    }
+
+    @Benchmark
+    public List<ItemRequestDto> findAllRequest(ShareItState state) {
+        return state.getItemRequestService().findAllRequest(state.randomUserId(), PAGE);
+    }
+}
@@ -0,0 +1,47 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.item.ItemDto;
+import ru.practicum.shareit.item.ItemDtoBooking;
+import ru.practicum.shareit.util.PageCursor;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ItemServiceBenchmark {
+    private static final PageRequest PAGE = PageRequest.of(0, 20, Sort.by(Sort.Direction.ASC, "id"));
+
+    @Benchmark
+    public List<ItemDtoBooking> findAllItemsOwner(ShareItState state) {
+        return state.getItemService().findAllItemsOwner(state.randomOwnerId(), PAGE);
+    }
+
+    @Benchmark
+    public List<ItemDtoBooking> findAllItemsOwnerCursor(ShareItState state) {
+        return state.getItemService().findAllItemsOwner(state.randomOwnerId(), PageCursor.of(0L), 20);
+    }
+
+    @Benchmark
+    public ItemDtoBooking findItemById(ShareItState state) {
+        final long ownerId = state.randomOwnerId();
+        return state.getItemService().findItemById(state.randomOwnedItemId(ownerId), ownerId);
+    }
+
+    @Benchmark
+    public List<ItemDto> searchItem(ShareItState state) {
+        return state.getItemService().searchItem(state.randomUserId(), "item 42", PageRequest.of(0, 20));
+    }
+}
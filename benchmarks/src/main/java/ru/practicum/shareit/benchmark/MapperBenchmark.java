@@ -0,0 +1,132 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingDto;
+import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemDto;
+import ru.practicum.shareit.item.ItemDtoBooking;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.comment.Comment;
+import ru.practicum.shareit.item.comment.CommentDtoResponse;
+import ru.practicum.shareit.item.comment.CommentMapper;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestDto;
+import ru.practicum.shareit.request.ItemRequestMapper;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+    private static final int SIZE = 1_000;
+
+    @State(Scope.Benchmark)
+    public static class Entities {
+        private final List<Item> items = new ArrayList<>();
+        private final List<Booking> bookings = new ArrayList<>();
+        private final List<Comment> comments = new ArrayList<>();
+        private final List<ItemRequest> requests = new ArrayList<>();
+
+        @Setup
+        public void setUp() {
+            final LocalDateTime now = LocalDateTime.now();
+            for (long i = 1; i <= SIZE; i++) {
+                final User user = new User();
+                user.setId(i);
+                user.setName("user" + i);
+                user.setEmail("user" + i + "@mail.ru");
+                final ItemRequest request = new ItemRequest();
+                request.setId(i);
+                request.setDescription("request" + i);
+                request.setRequestor(user);
+                request.setCreated(now);
+                final Item item = new Item();
+                item.setId(i);
+                item.setName("item" + i);
+                item.setDescription("description of item " + i);
+                item.setIsAvailable(true);
+                item.setOwner(user);
+                item.setRequest(request);
+                final Booking booking = new Booking();
+                booking.setId(i);
+                booking.setStart(now.plusHours(i));
+                booking.setEnd(now.plusHours(i + 1));
+                booking.setItem(item);
+                booking.setBooker(user);
+                booking.setStatus(Status.APPROVED);
+                final Comment comment = new Comment();
+                comment.setId(i);
+                comment.setText("comment" + i);
+                comment.setItem(item);
+                comment.setAuthor(user);
+                comment.setCreated(now);
+                items.add(item);
+                bookings.add(booking);
+                comments.add(comment);
+                requests.add(request);
+            }
+        }
+    }
+
+    @Benchmark
+    public List<ItemDto> itemInDto(Entities entities) {
+        return entities.items.stream()
+                .map(ItemMapper::itemInDto)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<ItemDtoBooking> toItemDtoBooking(Entities entities) {
+        return entities.items.stream()
+                .map(ItemMapper::toItemDtoBooking)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<BookingDto> toBookingDto(Entities entities) {
+        return entities.bookings.stream()
+                .map(BookingMapper::toBookingDto)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<ItemDtoBooking.BookingItemDto> toBookingItemDto(Entities entities) {
+        return entities.bookings.stream()
+                .map(BookingMapper::toBookingItemDto)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<CommentDtoResponse> toCommentDtoResponse(Entities entities) {
+        return entities.comments.stream()
+                .map(CommentMapper::toCommentDtoResponse)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<ItemRequestDto> inRequestDto(Entities entities) {
+        return entities.requests.stream()
+                .map(ItemRequestMapper::inRequestDto)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,54 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.item.ItemDto;
+import ru.practicum.shareit.request.ItemRequestDto;
+import ru.practicum.shareit.request.ItemRequestMapper;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestItemsBenchmark {
+    private static final int REQUESTS = 10_000;
+    private static final int ITEMS = 100_000;
+
+    @State(Scope.Benchmark)
+    public static class Dtos {
+        private final List<ItemRequestDto> requests = new ArrayList<>();
+        private final List<ItemDto> items = new ArrayList<>();
+
+        @Setup
+        public void setUp() {
+            final LocalDateTime now = LocalDateTime.now();
+            for (long i = 1; i <= REQUESTS; i++) {
+                requests.add(new ItemRequestDto(i, "request" + i, now.minusMinutes(i)));
+            }
+            final User owner = new User(1L, "owner", "owner@mail.ru");
+            for (long i = 1; i <= ITEMS; i++) {
+                items.add(new ItemDto(i, "item" + i, "description of item " + i, true, owner, i % REQUESTS + 1));
+            }
+        }
+    }
+
+    @Benchmark
+    public List<ItemRequestDto> withItems(Dtos dtos) {
+        return ItemRequestMapper.withItems(dtos.requests, dtos.items);
+    }
+}
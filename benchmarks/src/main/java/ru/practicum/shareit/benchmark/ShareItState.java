@@ -0,0 +1,92 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.summary.ItemBookingSummaries;
+import ru.practicum.shareit.item.ItemDtoBooking;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.request.ItemRequestService;
+import ru.practicum.shareit.user.UserIdIndex;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+@State(Scope.Benchmark)
+public class ShareItState {
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+    private BookingService bookingService;
+    private ItemRequestService itemRequestService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:shareit-benchmark;DB_CLOSE_DELAY=-1",
+                        "logging.level.root=WARN",
+                        "logging.level.org.hibernate.SQL=WARN",
+                        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                        "logging.level.org.springframework.transaction.interceptor=WARN",
+                        "logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN")
+                .run();
+        new DataSeeder(context.getBean(JdbcTemplate.class)).seed();
+        context.getBean(UserIdIndex.class).rebuild();
+        context.getBean(ItemBookingSummaries.class).rebuild();
+        itemService = context.getBean(ItemService.class);
+        bookingService = context.getBean(BookingService.class);
+        itemRequestService = context.getBean(ItemRequestService.class);
+        checkOwnedItems();
+    }
+
+    private void checkOwnedItems() {
+        for (long ownerId : new long[]{1, DataSeeder.OWNERS}) {
+            final ItemDtoBooking item = itemService.findItemById(randomOwnedItemId(ownerId), ownerId);
+            if (item.getOwner().getId() != ownerId || item.getLastBooking() == null && item.getNextBooking() == null) {
+                throw new IllegalStateException("Предмет " + item.getId() + " не измеряет ветку владельца " + ownerId);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    public ItemService getItemService() {
+        return itemService;
+    }
+
+    public BookingService getBookingService() {
+        return bookingService;
+    }
+
+    public ItemRequestService getItemRequestService() {
+        return itemRequestService;
+    }
+
+    public long randomOwnerId() {
+        return ThreadLocalRandom.current().nextLong(DataSeeder.OWNERS) + 1;
+    }
+
+    /**
+     * Предмет, принадлежащий владельцу: сидер назначает предмету x владельца {@code MOD(x, OWNERS) + 1}.
+     */
+    public long randomOwnedItemId(long ownerId) {
+        return ownerId - 1 + ThreadLocalRandom.current().nextLong(1, DataSeeder.ITEMS / DataSeeder.OWNERS)
+                * DataSeeder.OWNERS;
+    }
+
+    public long randomUserId() {
+        return ThreadLocalRandom.current().nextLong(DataSeeder.USERS) + 1;
+    }
+}
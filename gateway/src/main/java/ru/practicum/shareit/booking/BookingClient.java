@@ -2,13 +2,19 @@ package ru.practicum.shareit.booking;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.GatewayTransportFactory;
+import ru.practicum.shareit.client.ResponseCache;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static ru.practicum.shareit.util.Constants.*;
@@ -16,38 +22,68 @@ import static ru.practicum.shareit.util.Constants.*;
 @Service
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+    private final ResponseCache responseCache;
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, GatewayTransportFactory transportFactory,
+                         ResponseCache responseCache) {
+        super(transportFactory.create(serverUrl + API_PREFIX));
+        this.responseCache = responseCache;
     }
 
-    public ResponseEntity<Object> getBookings(String url, long userId, BookingState state, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> getBookings(String url, long userId, BookingState state, Integer from, Integer size,
+                                                    String cursor) {
         Map<String, Object> parameters = Map.of(
                 STATE, state.name(),
                 FROM, from,
                 SIZE, size
         );
-        return get(url, userId, parameters);
+        return getPage(url, userId, parameters, cursor);
+    }
+
+    public Mono<ResponseEntity<ResponseBodyEmitter>> exportBookingsOwner(long userId, BookingState state,
+                                                                         LocalDateTime start, LocalDateTime end,
+                                                                         String format) {
+        StringBuilder path = new StringBuilder("/owner/export?state={state}&format={format}");
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put(STATE, state.name());
+        parameters.put("format", format);
+        if (start != null) {
+            path.append("&start={start}");
+            parameters.put("start", start);
+        }
+        if (end != null) {
+            path.append("&end={end}");
+            parameters.put("end", end);
+        }
+        MediaType accept = "csv".equalsIgnoreCase(format) ? TEXT_CSV : MediaType.APPLICATION_NDJSON;
+        return stream(path.toString(), userId, parameters, accept);
     }
 
-    public ResponseEntity<Object> update(Long userId, Long bookingId, boolean isApproved) {
+    public Mono<ResponseEntity<Object>> update(Long userId, Long bookingId, boolean isApproved) {
         Map<String, Object> parametr = Map.of(
                 "approved", isApproved);
-        return patch("/" + bookingId + "?approved={approved}", userId, parametr, null);
+        return patch("/" + bookingId + "?approved={approved}", userId, parametr, null)
+                // подтверждает владелец, последняя и ближайшая брони видны только в его ответах по предметам
+                .doFinally(signal -> responseCache.invalidateForUser("/items/", userId));
     }
 
 
-    public ResponseEntity<Object> bookItem(long userId, BookItemRequestDto requestDto) {
-        return post("", userId, requestDto);
+    public Mono<ResponseEntity<Object>> bookItem(long userId, BookItemRequestDto requestDto) {
+        return post("", userId, requestDto)
+                .doFinally(signal -> responseCache.invalidate("/items/" + requestDto.getItemId()));
+    }
+
+    public Mono<ResponseEntity<Object>> bookItems(long userId, List<BookItemRequestDto> requestDtos) {
+        return post("/batch", userId, requestDtos)
+                .doFinally(signal -> requestDtos.stream()
+                        .map(BookItemRequestDto::getItemId)
+                        .distinct()
+                        .forEach(itemId -> responseCache.invalidate("/items/" + itemId)));
     }
 
-    public ResponseEntity<Object> getBooking(long userId, Long bookingId) {
+    public Mono<ResponseEntity<Object>> getBooking(long userId, Long bookingId) {
         return get("/" + bookingId, userId);
     }
 }
\ No newline at end of file
@@ -3,14 +3,22 @@ package ru.practicum.shareit.booking;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import reactor.core.publisher.Mono;
 
 import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Pattern;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
+import java.time.LocalDateTime;
+import java.util.List;
 
 import static ru.practicum.shareit.util.Constants.*;
 
@@ -26,46 +34,72 @@ public class BookingController {
     private final static String URL_NEW = "/owner?state={state}&from={from}&size={size}";
 
     @GetMapping
-    public ResponseEntity<Object> getBookings(@RequestHeader(X_SHARER) long userId,
-                                              @RequestParam(name = STATE, defaultValue = "all") String stateParam,
-                                              @PositiveOrZero @RequestParam(name = FROM, defaultValue = "0") Integer from,
-                                              @Positive @RequestParam(name = SIZE, defaultValue = "10") Integer size) {
+    public Mono<ResponseEntity<Object>> getBookings(@RequestHeader(X_SHARER) long userId,
+                                                    @RequestParam(name = STATE, defaultValue = "all") String stateParam,
+                                                    @PositiveOrZero @RequestParam(name = FROM, defaultValue = "0") Integer from,
+                                                    @Positive @RequestParam(name = SIZE, defaultValue = "10") Integer size,
+                                                    @RequestParam(name = CURSOR, required = false) String cursor) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
         log.info("Get booking with state {}, userId={}, from={}, size={}", stateParam, userId, from, size);
-        return bookingClient.getBookings(URL,userId, state, from, size);
+        return bookingClient.getBookings(URL,userId, state, from, size, cursor);
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> getBookingsOwner(@RequestHeader(X_SHARER) long userId,
-                                                   @RequestParam(name = STATE, defaultValue = "all") String stateParam,
-                                                   @PositiveOrZero @RequestParam(name = FROM, defaultValue = "0") Integer from,
-                                                   @Positive @RequestParam(name = SIZE, defaultValue = "10") Integer size) {
+    public Mono<ResponseEntity<Object>> getBookingsOwner(@RequestHeader(X_SHARER) long userId,
+                                                         @RequestParam(name = STATE, defaultValue = "all") String stateParam,
+                                                         @PositiveOrZero @RequestParam(name = FROM, defaultValue = "0") Integer from,
+                                                         @Positive @RequestParam(name = SIZE, defaultValue = "10") Integer size,
+                                                    @RequestParam(name = CURSOR, required = false) String cursor) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
         log.info("Get booking with state {}, userId={}, from={}, size={}", stateParam, userId, from, size);
-        return bookingClient.getBookings(URL_NEW,userId, state, from, size);
+        return bookingClient.getBookings(URL_NEW,userId, state, from, size, cursor);
+    }
+
+    @GetMapping("/owner/export")
+    public Mono<ResponseEntity<ResponseBodyEmitter>> exportBookingsOwner(@RequestHeader(X_SHARER) long userId,
+                                                                         @RequestParam(name = STATE, defaultValue = "all") String stateParam,
+                                                                         @RequestParam(name = "start", required = false)
+                                                                         @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+                                                                         @RequestParam(name = "end", required = false)
+                                                                         @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+                                                                         @Pattern(regexp = "(?i)ndjson|csv")
+                                                                         @RequestParam(name = "format", defaultValue = "ndjson") String format) {
+        BookingState state = BookingState.from(stateParam)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
+        log.info("Export bookings with state {}, userId={}, start={}, end={}, format={}", stateParam, userId, start, end,
+                format);
+        return bookingClient.exportBookingsOwner(userId, state, start, end, format);
     }
 
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> updateBooking(@RequestHeader(X_SHARER) Long userId,
-                                                @PathVariable Long bookingId,
-                                                @RequestParam(value = "approved") String approved) {
+    public Mono<ResponseEntity<Object>> updateBooking(@RequestHeader(X_SHARER) Long userId,
+                                                      @PathVariable Long bookingId,
+                                                      @RequestParam(value = "approved") String approved) {
         boolean isApproved = approved.equals("true");
         log.info("Получен PATCH-запрос  бронирования с ID={}", bookingId);
         return bookingClient.update(userId, bookingId, isApproved);
     }
 
     @PostMapping
-    public ResponseEntity<Object> bookItem(@RequestHeader(X_SHARER) long userId,
-                                           @RequestBody @Valid BookItemRequestDto requestDto) {
+    public Mono<ResponseEntity<Object>> bookItem(@RequestHeader(X_SHARER) long userId,
+                                                 @RequestBody @Valid BookItemRequestDto requestDto) {
         log.info("Creating booking {}, userId={}", requestDto, userId);
         return bookingClient.bookItem(userId, requestDto);
     }
 
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<Object>> bookItems(@RequestHeader(X_SHARER) long userId,
+                                                  @RequestBody @NotEmpty @Size(max = MAX_BATCH)
+                                                  List<@Valid BookItemRequestDto> requestDtos) {
+        log.info("Creating {} bookings, userId={}", requestDtos.size(), userId);
+        return bookingClient.bookItems(userId, requestDtos);
+    }
+
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> getBooking(@RequestHeader(X_SHARER) long userId,
-                                             @PathVariable Long bookingId) {
+    public Mono<ResponseEntity<Object>> getBooking(@RequestHeader(X_SHARER) long userId,
+                                                   @PathVariable Long bookingId) {
         log.info("Get booking {}, userId={}", bookingId, userId);
         return bookingClient.getBooking(userId, bookingId);
     }
@@ -0,0 +1,66 @@
+package ru.practicum.shareit.client;
+
+import org.reactivestreams.Subscription;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Пишет буферы ответа сервера в ответ клиенту по одному: следующий буфер запрашивается после записи предыдущего,
+ * поэтому медленный клиент сдерживает чтение с сервера, а не копит ответ в памяти шлюза.
+ */
+final class DataBufferEmitter extends ResponseBodyEmitter {
+    private final Flux<DataBuffer> body;
+    private final Writer writer = new Writer();
+
+    DataBufferEmitter(Flux<DataBuffer> body, Duration timeout) {
+        super(timeout.toMillis());
+        this.body = body;
+        onTimeout(writer::cancel);
+        onError(e -> writer.cancel());
+        onCompletion(writer::cancel);
+    }
+
+    @Override
+    protected void extendResponse(ServerHttpResponse outputMessage) {
+        // подписка после записи статуса и заголовков: до этого отправленное копилось бы в эмиттере
+        body.subscribe(writer);
+    }
+
+    private class Writer extends BaseSubscriber<DataBuffer> {
+        @Override
+        protected void hookOnSubscribe(Subscription subscription) {
+            request(1);
+        }
+
+        @Override
+        protected void hookOnNext(DataBuffer buffer) {
+            byte[] bytes = new byte[buffer.readableByteCount()];
+            buffer.read(bytes);
+            DataBufferUtils.release(buffer);
+            try {
+                send(bytes);
+                request(1);
+            } catch (IOException | IllegalStateException e) {
+                // клиент закрыл соединение или ответ уже завершён по таймауту
+                cancel();
+            }
+        }
+
+        @Override
+        protected void hookOnComplete() {
+            complete();
+        }
+
+        @Override
+        protected void hookOnError(Throwable e) {
+            completeWithError(e);
+        }
+    }
+}
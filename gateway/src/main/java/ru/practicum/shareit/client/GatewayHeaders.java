@@ -0,0 +1,43 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+final class GatewayHeaders {
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of("connection", "keep-alive", "proxy-authenticate",
+            "proxy-authorization", "te", "trailer", "transfer-encoding", "upgrade");
+
+    private GatewayHeaders() {
+    }
+
+    static HttpHeaders request(Long userId) {
+        return request(userId, MediaType.APPLICATION_JSON);
+    }
+
+    static HttpHeaders request(Long userId, MediaType accept) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        // ошибки сервер отдаёт в JSON при любом формате ответа
+        headers.setAccept(accept.equals(MediaType.APPLICATION_JSON)
+                ? List.of(accept)
+                : List.of(accept, MediaType.APPLICATION_JSON));
+        if (userId != null) {
+            headers.set("X-Sharer-User-Id", String.valueOf(userId));
+        }
+        return headers;
+    }
+
+    static HttpHeaders response(HttpHeaders serverHeaders) {
+        HttpHeaders headers = new HttpHeaders();
+        serverHeaders.forEach((name, values) -> {
+            if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                headers.addAll(name, values);
+            }
+        });
+        return headers;
+    }
+}
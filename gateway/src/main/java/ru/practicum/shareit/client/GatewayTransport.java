@@ -0,0 +1,22 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+public interface GatewayTransport {
+    Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, @Nullable Long userId,
+                                          @Nullable Map<String, Object> parameters, @Nullable Object body);
+
+    /**
+     * GET с передачей тела ответа потоком, без буферизации в шлюзе.
+     */
+    Mono<ResponseEntity<Flux<DataBuffer>>> stream(String path, @Nullable Long userId,
+                                                  @Nullable Map<String, Object> parameters, MediaType accept);
+}
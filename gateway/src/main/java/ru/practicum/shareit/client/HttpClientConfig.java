@@ -0,0 +1,115 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import io.netty.channel.ChannelOption;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+@EnableConfigurationProperties(HttpClientProperties.class)
+public class HttpClientConfig {
+
+    @Configuration
+    @ConditionalOnProperty(name = "shareit-server.transport", havingValue = "blocking", matchIfMissing = true)
+    static class BlockingTransportConfig {
+
+        @Bean(destroyMethod = "close")
+        public PoolingHttpClientConnectionManager shareitServerConnectionManager(HttpClientProperties properties) {
+            PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+            connectionManager.setMaxTotal(properties.getMaxTotal());
+            connectionManager.setDefaultMaxPerRoute(properties.getMaxPerRoute());
+            connectionManager.setValidateAfterInactivity((int) properties.getValidateAfterInactivity().toMillis());
+            return connectionManager;
+        }
+
+        @Bean(destroyMethod = "close")
+        public CloseableHttpClient shareitServerHttpClient(PoolingHttpClientConnectionManager connectionManager,
+                                                           HttpClientProperties properties) {
+            long keepAlive = properties.getKeepAlive().toMillis();
+            return HttpClients.custom()
+                    .setConnectionManager(connectionManager)
+                    .setDefaultRequestConfig(RequestConfig.custom()
+                            .setConnectTimeout((int) properties.getConnectTimeout().toMillis())
+                            .setSocketTimeout((int) properties.getReadTimeout().toMillis())
+                            .setConnectionRequestTimeout((int) properties.getLeaseTimeout().toMillis())
+                            .build())
+                    .setKeepAliveStrategy((response, context) -> {
+                        long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE
+                                .getKeepAliveDuration(response, context);
+                        return serverKeepAlive > 0 ? Math.min(serverKeepAlive, keepAlive) : keepAlive;
+                    })
+                    .evictExpiredConnections()
+                    .evictIdleConnections(properties.getIdleTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                    .build();
+        }
+
+        @Bean
+        public ClientHttpRequestFactory shareitServerRequestFactory(CloseableHttpClient shareitServerHttpClient) {
+            return new HttpComponentsClientHttpRequestFactory(shareitServerHttpClient);
+        }
+
+        @Bean
+        public MeterBinder shareitServerPoolMetrics(PoolingHttpClientConnectionManager connectionManager) {
+            return new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "shareit-server");
+        }
+
+        @Bean
+        public GatewayTransportFactory blockingTransportFactory(RestTemplateBuilder builder,
+                                                                ClientHttpRequestFactory requestFactory) {
+            return baseUrl -> new RestTemplateTransport(builder
+                    .uriTemplateHandler(new DefaultUriBuilderFactory(baseUrl))
+                    .requestFactory(() -> requestFactory)
+                    .build());
+        }
+    }
+
+    @Configuration
+    @ConditionalOnProperty(name = "shareit-server.transport", havingValue = "reactive")
+    static class ReactiveTransportConfig {
+
+        @Bean(destroyMethod = "dispose")
+        public ConnectionProvider shareitServerConnectionProvider(HttpClientProperties properties) {
+            return ConnectionProvider.builder("shareit-server")
+                    .maxConnections(properties.getMaxPerRoute())
+                    .pendingAcquireMaxCount(properties.getMaxPending())
+                    .pendingAcquireTimeout(properties.getLeaseTimeout())
+                    .maxIdleTime(properties.getIdleTimeout())
+                    .maxLifeTime(properties.getKeepAlive())
+                    .evictInBackground(properties.getIdleTimeout())
+                    .metrics(true)
+                    .build();
+        }
+
+        @Bean
+        public GatewayTransportFactory reactiveTransportFactory(WebClient.Builder builder,
+                                                               ConnectionProvider connectionProvider,
+                                                               HttpClientProperties properties) {
+            HttpClient httpClient = HttpClient.create(connectionProvider)
+                    .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                    .responseTimeout(properties.getReadTimeout());
+            WebClient.Builder transportBuilder = builder.clone()
+                    .clientConnector(new ReactorClientHttpConnector(httpClient));
+            return baseUrl -> new WebClientTransport(transportBuilder.clone()
+                    .baseUrl(baseUrl)
+                    .build());
+        }
+    }
+}
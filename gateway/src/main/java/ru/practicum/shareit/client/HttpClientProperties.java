@@ -0,0 +1,49 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.http")
+public class HttpClientProperties {
+    /**
+     * Максимальное число соединений в пуле.
+     */
+    private int maxTotal = 200;
+    /**
+     * Максимальное число соединений к одному хосту.
+     */
+    private int maxPerRoute = 200;
+    /**
+     * Максимальное число запросов, ожидающих соединения. Только для транспорта reactive.
+     */
+    private int maxPending = 10_000;
+    /**
+     * Время на установку соединения с сервером.
+     */
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    /**
+     * Время ожидания данных от сервера.
+     */
+    private Duration readTimeout = Duration.ofSeconds(30);
+    /**
+     * Время ожидания свободного соединения из пула.
+     */
+    private Duration leaseTimeout = Duration.ofSeconds(2);
+    /**
+     * Простаивающие дольше соединения закрываются.
+     */
+    private Duration idleTimeout = Duration.ofSeconds(30);
+    /**
+     * Время жизни keep-alive соединения, если сервер не прислал своё.
+     */
+    private Duration keepAlive = Duration.ofSeconds(60);
+    /**
+     * Соединения, простаивавшие дольше, проверяются перед повторным использованием.
+     */
+    private Duration validateAfterInactivity = Duration.ofSeconds(2);
+}
@@ -0,0 +1,186 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Короткоживущий кэш ответов сервера, ключ - путь ресурса и пользователь. Одновременные промахи по одному ключу
+ * ждут единственный запрос к серверу. Кэшируются только успешные ответы. Ключи дополнительно разложены по ресурсам
+ * и пользователям, поэтому сброс затрагивает только их ключи, а не перебирает весь кэш. Индексы меняются
+ * в тех же атомарных операциях кэша, что добавляют и удаляют ключ.
+ */
+@Component
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+public class ResponseCache {
+    private final boolean enabled;
+    private final AsyncCache<Key, CachedResponse> cache;
+    private final Map<String, Set<Key>> keysByResource = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Key>> keysByUser = new ConcurrentHashMap<>();
+
+    public ResponseCache(ResponseCacheProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .<Key, CachedResponse>evictionListener((key, response, cause) -> unindex(key))
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), "shareit-server-responses");
+    }
+
+    public Mono<ResponseEntity<Object>> get(String resource, @Nullable Long userId,
+                                            Supplier<Mono<ResponseEntity<Object>>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        return Mono.defer(() -> {
+            Key key = new Key(resource, userId);
+            CompletableFuture<CachedResponse> loading = new CompletableFuture<>();
+            CompletableFuture<CachedResponse> cached = cache.get(key, (k, executor) -> {
+                index(k);
+                return loading;
+            });
+            if (cached == loading) {
+                load(key, loading, loader);
+            }
+            return Mono.fromFuture(cached.thenApply(CachedResponse::toResponseEntity));
+        });
+    }
+
+    public void invalidate(String resource) {
+        remove(keysByResource.get(resource));
+    }
+
+    /**
+     * Сбрасывает ответы ресурсов с путём, начинающимся с prefix, закэшированные для пользователя userId.
+     */
+    public void invalidateForUser(String prefix, long userId) {
+        final Set<Key> keys = keysByUser.get(userId);
+        if (keys != null) {
+            remove(keys.stream()
+                    .filter(key -> key.getResource().startsWith(prefix))
+                    .collect(Collectors.toList()));
+        }
+    }
+
+    private void load(Key key, CompletableFuture<CachedResponse> loading, Supplier<Mono<ResponseEntity<Object>>> loader) {
+        loader.get()
+                .map(ResponseCache::buffer)
+                .subscribe(response -> {
+                    if (!response.isSuccessful()) {
+                        remove(key, loading);
+                    }
+                    loading.complete(response);
+                }, e -> {
+                    remove(key, loading);
+                    loading.completeExceptionally(e);
+                });
+    }
+
+    private void remove(@Nullable Collection<Key> keys) {
+        if (keys != null) {
+            List.copyOf(keys).forEach(key -> remove(key, null));
+        }
+    }
+
+    private void remove(Key key, @Nullable CompletableFuture<CachedResponse> expected) {
+        cache.asMap().computeIfPresent(key, (k, current) -> {
+            if (expected != null && current != expected) {
+                return current;
+            }
+            unindex(k);
+            return null;
+        });
+    }
+
+    private void index(Key key) {
+        add(keysByResource, key.getResource(), key);
+        if (key.getUserId() != null) {
+            add(keysByUser, key.getUserId(), key);
+        }
+    }
+
+    private void unindex(Key key) {
+        remove(keysByResource, key.getResource(), key);
+        if (key.getUserId() != null) {
+            remove(keysByUser, key.getUserId(), key);
+        }
+    }
+
+    private static <T> void add(Map<T, Set<Key>> index, T value, Key key) {
+        index.compute(value, (v, keys) -> {
+            final Set<Key> result = keys == null ? ConcurrentHashMap.newKeySet() : keys;
+            result.add(key);
+            return result;
+        });
+    }
+
+    private static <T> void remove(Map<T, Set<Key>> index, T value, Key key) {
+        index.computeIfPresent(value, (v, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    private static CachedResponse buffer(ResponseEntity<Object> response) {
+        return new CachedResponse(response.getStatusCodeValue(), response.getHeaders(), read(response.getBody()));
+    }
+
+    @Nullable
+    private static byte[] read(@Nullable Object body) {
+        if (body == null || body instanceof byte[]) {
+            return (byte[]) body;
+        }
+        if (!(body instanceof Resource)) {
+            throw new IllegalStateException("Неподдерживаемое тело ответа сервера: " + body.getClass().getName());
+        }
+        try (InputStream in = ((Resource) body).getInputStream()) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Value
+    private static class Key {
+        String resource;
+        Long userId;
+    }
+
+    @Value
+    private static class CachedResponse {
+        int status;
+        HttpHeaders headers;
+        byte[] body;
+
+        boolean isSuccessful() {
+            return status >= 200 && status < 300;
+        }
+
+        ResponseEntity<Object> toResponseEntity() {
+            return ResponseEntity.status(status).headers(headers).body(body);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.cache")
+public class ResponseCacheProperties {
+    /**
+     * Кэшировать ответы сервера на чтение отдельных пользователей, предметов и запросов.
+     */
+    private boolean enabled = true;
+    /**
+     * Максимальное число ответов в кэше.
+     */
+    private long maxSize = 10_000;
+    /**
+     * Время жизни ответа в кэше.
+     */
+    private Duration ttl = Duration.ofSeconds(2);
+}
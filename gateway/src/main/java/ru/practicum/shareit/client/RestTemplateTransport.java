@@ -0,0 +1,94 @@
+package ru.practicum.shareit.client;
+
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Map;
+import java.util.function.Function;
+
+public class RestTemplateTransport implements GatewayTransport {
+    private static final int STREAM_BUFFER_SIZE = 8 * 1024;
+
+    private final RestTemplate rest;
+
+    public RestTemplateTransport(RestTemplate rest) {
+        this.rest = rest;
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, @Nullable Long userId,
+                                                 @Nullable Map<String, Object> parameters, @Nullable Object body) {
+        return Mono.fromCallable(() -> send(method, path, GatewayHeaders.request(userId), parameters, body,
+                InputStreamResource::new));
+    }
+
+    @Override
+    public Mono<ResponseEntity<Flux<DataBuffer>>> stream(String path, @Nullable Long userId,
+                                                         @Nullable Map<String, Object> parameters, MediaType accept) {
+        // чтение ответа блокирующее, поэтому тело читается на boundedElastic по мере запроса буферов
+        return Mono.fromCallable(() -> send(HttpMethod.GET, path, GatewayHeaders.request(userId, accept), parameters,
+                null, in -> DataBufferUtils.readInputStream(() -> in, DefaultDataBufferFactory.sharedInstance,
+                        STREAM_BUFFER_SIZE).subscribeOn(Schedulers.boundedElastic())));
+    }
+
+    private <T> ResponseEntity<T> send(HttpMethod method, String path, HttpHeaders headers,
+                                       @Nullable Map<String, Object> parameters, @Nullable Object body,
+                                       Function<InputStream, T> bodyReader) {
+        HttpEntity<Object> requestEntity = new HttpEntity<>(body, headers);
+        URI uri = parameters != null
+                ? rest.getUriTemplateHandler().expand(path, parameters)
+                : rest.getUriTemplateHandler().expand(path);
+
+        ClientHttpResponse shareitServerResponse = null;
+        try {
+            ClientHttpRequest request = rest.getRequestFactory().createRequest(uri, method);
+            rest.httpEntityCallback(requestEntity).doWithRequest(request);
+            shareitServerResponse = request.execute();
+            return ResponseEntity.status(shareitServerResponse.getRawStatusCode())
+                    .headers(GatewayHeaders.response(shareitServerResponse.getHeaders()))
+                    .body(bodyReader.apply(new ResponseBodyInputStream(shareitServerResponse)));
+        } catch (ConnectionPoolTimeoutException e) {
+            throw new ServerUnavailableException("Нет свободных соединений с сервером.", e);
+        } catch (IOException e) {
+            if (shareitServerResponse != null) {
+                shareitServerResponse.close();
+            }
+            throw new ResourceAccessException("I/O error on " + method + " request for \"" + uri + "\": " +
+                    e.getMessage(), e);
+        }
+    }
+
+    private static class ResponseBodyInputStream extends FilterInputStream {
+        private final ClientHttpResponse response;
+
+        ResponseBodyInputStream(ClientHttpResponse response) throws IOException {
+            super(response.getBody());
+            this.response = response;
+        }
+
+        @Override
+        public void close() {
+            response.close();
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.client;
+
+public class ServerUnavailableException extends RuntimeException {
+    public ServerUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,66 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.internal.shaded.reactor.pool.PoolAcquirePendingLimitException;
+import reactor.netty.internal.shaded.reactor.pool.PoolAcquireTimeoutException;
+
+import java.util.Map;
+
+public class WebClientTransport implements GatewayTransport {
+    private final WebClient webClient;
+
+    public WebClientTransport(WebClient webClient) {
+        this.webClient = webClient;
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, @Nullable Long userId,
+                                                 @Nullable Map<String, Object> parameters, @Nullable Object body) {
+        WebClient.RequestBodySpec request = webClient.method(method)
+                .uri(path, parameters != null ? parameters : Map.of())
+                .headers(headers -> headers.addAll(GatewayHeaders.request(userId)));
+        WebClient.RequestHeadersSpec<?> spec = body != null ? request.bodyValue(body) : request;
+        return spec.exchangeToMono(WebClientTransport::toGatewayResponse)
+                .onErrorMap(WebClientTransport::isPoolExhausted,
+                        e -> new ServerUnavailableException("Нет свободных соединений с сервером.", e));
+    }
+
+    @Override
+    public Mono<ResponseEntity<Flux<DataBuffer>>> stream(String path, @Nullable Long userId,
+                                                         @Nullable Map<String, Object> parameters, MediaType accept) {
+        return webClient.get()
+                .uri(path, parameters != null ? parameters : Map.of())
+                .headers(headers -> headers.addAll(GatewayHeaders.request(userId, accept)))
+                .retrieve()
+                .onStatus(HttpStatus::isError, response -> Mono.empty())
+                .toEntityFlux(DataBuffer.class)
+                .map(entity -> ResponseEntity.status(entity.getStatusCodeValue())
+                        .headers(GatewayHeaders.response(entity.getHeaders()))
+                        .body(entity.getBody()))
+                .onErrorMap(WebClientTransport::isPoolExhausted,
+                        e -> new ServerUnavailableException("Нет свободных соединений с сервером.", e));
+    }
+
+    private static boolean isPoolExhausted(Throwable e) {
+        Throwable cause = NestedExceptionUtils.getMostSpecificCause(e);
+        return cause instanceof PoolAcquirePendingLimitException || cause instanceof PoolAcquireTimeoutException;
+    }
+
+    private static Mono<ResponseEntity<Object>> toGatewayResponse(ClientResponse response) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(response.rawStatusCode())
+                .headers(GatewayHeaders.response(response.headers().asHttpHeaders()));
+        return response.bodyToMono(byte[].class)
+                .<ResponseEntity<Object>>map(builder::body)
+                .defaultIfEmpty(builder.build());
+    }
+}
@@ -6,6 +6,9 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import ru.practicum.shareit.client.ServerUnavailableException;
+
+import javax.validation.ConstraintViolationException;
 
 @Slf4j
 @RestControllerAdvice
@@ -17,6 +20,19 @@ public class ExceptionHandlers {
         return new ErrorException(e.getMessage());
     }
 
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorException handleConstraintViolationException(final ConstraintViolationException e) {
+        return new ErrorException(e.getMessage());
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorException handleServerUnavailableException(final ServerUnavailableException e) {
+        log.warn(e.getMessage());
+        return new ErrorException(System.currentTimeMillis(), e.getMessage());
+    }
+
     @ExceptionHandler
     @ResponseStatus(value = HttpStatus.INTERNAL_SERVER_ERROR)
     public ErrorException handleThrowable(final Throwable e) {
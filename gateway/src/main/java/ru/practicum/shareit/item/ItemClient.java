@@ -2,14 +2,17 @@ package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.GatewayTransportFactory;
+import ru.practicum.shareit.client.ResponseCache;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 import static ru.practicum.shareit.util.Constants.*;
 
@@ -17,45 +20,67 @@ import static ru.practicum.shareit.util.Constants.*;
 public class ItemClient extends BaseClient {
 
     private static final String API_PREFIX = "/items";
+    private final ResponseCache responseCache;
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(builder
-                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                .build()
-        );
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, GatewayTransportFactory transportFactory,
+                      ResponseCache responseCache) {
+        super(transportFactory.create(serverUrl + API_PREFIX));
+        this.responseCache = responseCache;
     }
 
-    public ResponseEntity<Object> create(Long userId, ItemDto itemDto) {
-        return post("", userId, itemDto);
+    public Mono<ResponseEntity<Object>> create(Long userId, ItemDto itemDto) {
+        return post("", userId, itemDto)
+                .doFinally(signal -> {
+                    if (itemDto.getRequestId() != null) {
+                        responseCache.invalidate("/requests/" + itemDto.getRequestId());
+                    }
+                });
     }
 
-    public ResponseEntity<Object> update(ItemDto inputItemDto, long userId, Long itemId) {
-        return patch("/" + itemId, userId, inputItemDto);
+    public Mono<ResponseEntity<Object>> createAll(Long userId, List<ItemDto> itemDtos) {
+        return post("/batch", userId, itemDtos)
+                .doFinally(signal -> itemDtos.stream()
+                        .map(ItemDto::getRequestId)
+                        .filter(Objects::nonNull)
+                        .distinct()
+                        .forEach(requestId -> responseCache.invalidate("/requests/" + requestId)));
     }
 
-    public ResponseEntity<Object> findItemById(Long itemId, Long owner) {
-        return get("/" + itemId, owner);
+    public Mono<ResponseEntity<Object>> update(ItemDto inputItemDto, long userId, Long itemId) {
+        return patch("/" + itemId, userId, inputItemDto)
+                .doFinally(signal -> responseCache.invalidate(API_PREFIX + "/" + itemId));
     }
 
-    public ResponseEntity<Object> findAllItems(Long owner, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> findItemById(Long itemId, Long owner) {
+        return responseCache.get(API_PREFIX + "/" + itemId, owner, () -> get("/" + itemId, owner));
+    }
+
+    public Mono<ResponseEntity<Object>> findAllItems(Long owner, Integer from, Integer size, String cursor) {
         Map<String, Object> parametr = Map.of(
                 FROM, from,
                 SIZE, size);
-        return get("?from={from}&size={size}", owner, parametr);
+        return getPage("?from={from}&size={size}", owner, parametr, cursor);
     }
 
-    public ResponseEntity<Object> searchItem(Long userId, String text, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> searchItem(Long userId, String text, Integer from, Integer size, String cursor) {
         Map<String, Object> parametr = Map.of(
                 "text", text,
                 FROM, from,
                 SIZE, size);
-        return get("/search?text={text}&from={from}&size={size}", userId, parametr);
+        return getPage("/search?text={text}&from={from}&size={size}", userId, parametr, cursor);
+    }
+
+    public Mono<ResponseEntity<Object>> findFreeSlots(Long userId, Long itemId, LocalDateTime start, LocalDateTime end) {
+        Map<String, Object> parametr = Map.of(
+                "start", start,
+                "end", end);
+        return get("/" + itemId + "/availability?start={start}&end={end}", userId, parametr);
     }
 
-    public ResponseEntity<Object> createComment(Long userId, CommentDto commentDto, Long itemId) {
-        return post("/" + itemId + "/comment", userId, commentDto);
+    public Mono<ResponseEntity<Object>> createComment(Long userId, CommentDto commentDto, Long itemId) {
+        return post("/" + itemId + "/comment", userId, commentDto)
+                .doFinally(signal -> responseCache.invalidate(API_PREFIX + "/" + itemId));
     }
 }
 
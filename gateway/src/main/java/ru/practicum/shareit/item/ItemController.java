@@ -2,14 +2,20 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 
 import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
+import java.time.LocalDateTime;
+import java.util.List;
 
 import static ru.practicum.shareit.util.Constants.*;
 import static ru.practicum.shareit.util.Constants.FROM;
@@ -24,48 +30,69 @@ public class ItemController {
     private final ItemClient itemClient;
 
     @PostMapping
-    public ResponseEntity<Object> create(@Valid @RequestBody ItemDto itemDto,
-                                         @RequestHeader(X_SHARER) long userId) {
+    public Mono<ResponseEntity<Object>> create(@Valid @RequestBody ItemDto itemDto,
+                                               @RequestHeader(X_SHARER) long userId) {
         log.info("Создание предмета {}", itemDto);
         return itemClient.create(userId,itemDto);
     }
 
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<Object>> createAll(@RequestBody @NotEmpty @Size(max = MAX_BATCH)
+                                                  List<@Valid ItemDto> itemDtos,
+                                                  @RequestHeader(X_SHARER) long userId) {
+        log.info("Пакетное создание {} предметов", itemDtos.size());
+        return itemClient.createAll(userId, itemDtos);
+    }
+
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> update(@RequestBody ItemDto inputItemDto,
-                                         @RequestHeader(X_SHARER) long userId,
-                                         @PathVariable Long itemId) {
+    public Mono<ResponseEntity<Object>> update(@RequestBody ItemDto inputItemDto,
+                                               @RequestHeader(X_SHARER) long userId,
+                                               @PathVariable Long itemId) {
         log.debug("Обновление предмета с id: {}", itemId);
         return itemClient.update(inputItemDto, userId, itemId);
     }
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> findItemById(@PathVariable Long itemId,
-                                               @RequestHeader(X_SHARER) Long owner) {
+    public Mono<ResponseEntity<Object>> findItemById(@PathVariable Long itemId,
+                                                     @RequestHeader(X_SHARER) Long owner) {
         log.debug("Просмотр предмета с id: {}", itemId);
         return itemClient.findItemById(itemId, owner);
     }
 
     @GetMapping
-    public ResponseEntity<Object> findAllItems(@RequestHeader(X_SHARER) Long owner,
-                                               @PositiveOrZero @RequestParam(value = FROM, defaultValue = "0") Integer from,
-                                               @Positive @RequestParam(value = SIZE, defaultValue = "10") Integer size) {
+    public Mono<ResponseEntity<Object>> findAllItems(@RequestHeader(X_SHARER) Long owner,
+                                                     @PositiveOrZero @RequestParam(value = FROM, defaultValue = "0") Integer from,
+                                                     @Positive @RequestParam(value = SIZE, defaultValue = "10") Integer size,
+                                                     @RequestParam(value = CURSOR, required = false) String cursor) {
         log.debug("Получение списка всех предметов");
-        return itemClient.findAllItems(owner, from, size);
+        return itemClient.findAllItems(owner, from, size, cursor);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> searchItem(@RequestHeader(X_SHARER) Long userId,
-                                             @Valid @RequestParam(value = "text") String text,
-                                             @Valid @PositiveOrZero @RequestParam(value = FROM, defaultValue = "0") Integer from,
-                                             @RequestParam(value = "size", defaultValue = "10") Integer size) {
+    public Mono<ResponseEntity<Object>> searchItem(@RequestHeader(X_SHARER) Long userId,
+                                                   @Valid @RequestParam(value = "text") String text,
+                                                   @Valid @PositiveOrZero @RequestParam(value = FROM, defaultValue = "0") Integer from,
+                                                   @RequestParam(value = "size", defaultValue = "10") Integer size,
+                                                   @RequestParam(value = CURSOR, required = false) String cursor) {
             log.debug("Поиск необходимого предмета");
-            return itemClient.searchItem(userId, text, from, size);
+            return itemClient.searchItem(userId, text, from, size, cursor);
         }
 
+    @GetMapping("/{itemId}/availability")
+    public Mono<ResponseEntity<Object>> findFreeSlots(@RequestHeader(X_SHARER) Long userId,
+                                                      @PathVariable Long itemId,
+                                                      @RequestParam(value = "start")
+                                                      @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+                                                      @RequestParam(value = "end")
+                                                      @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
+        log.debug("Получение свободных интервалов предмета с id : {}", itemId);
+        return itemClient.findFreeSlots(userId, itemId, start, end);
+    }
+
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> createComment(@RequestHeader(X_SHARER) Long userId,
-                                                @Valid @RequestBody CommentDto commentDto,
-                                                @PathVariable Long itemId) {
+    public Mono<ResponseEntity<Object>> createComment(@RequestHeader(X_SHARER) Long userId,
+                                                      @Valid @RequestBody CommentDto commentDto,
+                                                      @PathVariable Long itemId) {
         log.debug("Добавлен отзыв для предмета с id : {}", itemId);
         return itemClient.createComment(userId, commentDto, itemId);
     }
@@ -2,13 +2,13 @@ package ru.practicum.shareit.request;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.GatewayTransportFactory;
+import ru.practicum.shareit.client.ResponseCache;
 
 import java.util.Map;
 
@@ -18,32 +18,31 @@ import static ru.practicum.shareit.util.Constants.*;
 public class ItemRequestClient extends BaseClient {
 
     private static final String API_PREFIX = "/requests";
+    private final ResponseCache responseCache;
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(builder
-                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                .build()
-        );
+    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, GatewayTransportFactory transportFactory,
+                             ResponseCache responseCache) {
+        super(transportFactory.create(serverUrl + API_PREFIX));
+        this.responseCache = responseCache;
     }
 
-    public ResponseEntity<Object> create(Long userId, ItemRequestDto inputItemRequestDto) {
+    public Mono<ResponseEntity<Object>> create(Long userId, ItemRequestDto inputItemRequestDto) {
         return post("", userId, inputItemRequestDto);
     }
 
-    public ResponseEntity<Object> findAllRequestByOwner(Long userId) {
+    public Mono<ResponseEntity<Object>> findAllRequestByOwner(Long userId) {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> findAllRequest(Long userId, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> findAllRequest(Long userId, Integer from, Integer size, String cursor) {
         Map<String, Object> parametr = Map.of(
                 FROM, from,
                 SIZE, size);
-        return get("/all?from={from}&size={size}", userId, parametr);
+        return getPage("/all?from={from}&size={size}", userId, parametr, cursor);
     }
 
-    public ResponseEntity<Object> findByRequestId(Long userId, Long requestId) {
-        return get("/" + requestId, userId);
+    public Mono<ResponseEntity<Object>> findByRequestId(Long userId, Long requestId) {
+        return responseCache.get(API_PREFIX + "/" + requestId, userId, () -> get("/" + requestId, userId));
     }
 }
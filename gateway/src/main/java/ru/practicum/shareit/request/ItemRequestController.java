@@ -6,6 +6,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
@@ -23,30 +24,31 @@ public class ItemRequestController {
     private final ItemRequestClient itemRequestClient;
 
     @PostMapping
-    public ResponseEntity<Object> create(@Valid @RequestBody ItemRequestDto inputItemRequestDto,
-                                         @RequestHeader(X_SHARER) Long userId) {
+    public Mono<ResponseEntity<Object>> create(@Valid @RequestBody ItemRequestDto inputItemRequestDto,
+                                               @RequestHeader(X_SHARER) Long userId) {
         log.debug("Добавление запроса предмета с описанием пользователем: {}", userId);
         return itemRequestClient.create(userId, inputItemRequestDto);
     }
 
     @GetMapping
-    public ResponseEntity<Object> findAllRequestByOwner(@RequestHeader(X_SHARER) Long userId) {
+    public Mono<ResponseEntity<Object>> findAllRequestByOwner(@RequestHeader(X_SHARER) Long userId) {
         log.debug("Просмотр всех запросов пользователя с id: {}", userId);
         return itemRequestClient.findAllRequestByOwner(userId);
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> findAllRequest(@RequestHeader(X_SHARER) Long userId,
-                                                 @PositiveOrZero @RequestParam(value = FROM, defaultValue = "0") Integer from,
-                                                 @Positive @RequestParam(value = SIZE, defaultValue = "10") Integer size) {
+    public Mono<ResponseEntity<Object>> findAllRequest(@RequestHeader(X_SHARER) Long userId,
+                                                       @PositiveOrZero @RequestParam(value = FROM, defaultValue = "0") Integer from,
+                                                       @Positive @RequestParam(value = SIZE, defaultValue = "10") Integer size,
+                                                       @RequestParam(value = CURSOR, required = false) String cursor) {
         log.debug("Получен список всех запросов для пользователя: {}", userId);
-        return itemRequestClient.findAllRequest(userId, from, size);
+        return itemRequestClient.findAllRequest(userId, from, size, cursor);
 
     }
 
     @GetMapping("/{requestId}")
-    public ResponseEntity<Object> findByRequestId(@RequestHeader(X_SHARER) Long userId,
-                                                  @PathVariable Long requestId) {
+    public Mono<ResponseEntity<Object>> findByRequestId(@RequestHeader(X_SHARER) Long userId,
+                                                        @PathVariable Long requestId) {
         log.debug("Получен запрос с данными о предметах для бронирования: {}", requestId);
         return itemRequestClient.findByRequestId(userId, requestId);
     }
@@ -2,45 +2,63 @@ package ru.practicum.shareit.user;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.GatewayTransportFactory;
+import ru.practicum.shareit.client.ResponseCache;
+
+import java.util.Map;
+
+import static ru.practicum.shareit.util.Constants.FROM;
+import static ru.practicum.shareit.util.Constants.SIZE;
 
 @Service
 public class UserClient extends BaseClient {
 
     private static final String API_PREFIX = "/users";
+    private final ResponseCache responseCache;
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public UserClient(@Value("${shareit-server.url}") String serverUrl, GatewayTransportFactory transportFactory,
+                      ResponseCache responseCache) {
+        super(transportFactory.create(serverUrl + API_PREFIX));
+        this.responseCache = responseCache;
     }
 
-    public ResponseEntity<Object> create(UserDto userDto) {
+    public Mono<ResponseEntity<Object>> create(UserDto userDto) {
         return post("", userDto);
     }
 
-    public ResponseEntity<Object> update(Long userId, UserDto userDto) {
-        return patch("/" + userId, userDto);
+    public Mono<ResponseEntity<Object>> update(Long userId, UserDto userDto) {
+        return patch("/" + userId, userDto)
+                .doFinally(signal -> responseCache.invalidate(API_PREFIX + "/" + userId));
     }
 
-    public ResponseEntity<Object> getUsers() {
+    public Mono<ResponseEntity<Object>> getUsers() {
         return get("");
     }
 
-    public ResponseEntity<Object> getUser(long userId) {
-        return get("/" + userId);
+    public Mono<ResponseEntity<Object>> getUsers(Integer from, Integer size, String cursor) {
+        Map<String, Object> parameters = Map.of(
+                FROM, from,
+                SIZE, size);
+        return getPage("?from={from}&size={size}", null, parameters, cursor);
+    }
+
+    public Mono<ResponseEntity<ResponseBodyEmitter>> streamUsers() {
+        return stream("/stream", MediaType.APPLICATION_NDJSON);
+    }
+
+    public Mono<ResponseEntity<Object>> getUser(long userId) {
+        return responseCache.get(API_PREFIX + "/" + userId, null, () -> get("/" + userId));
     }
 
-    public ResponseEntity<Object> deleteUser(long userId) {
-        return delete("/" + userId);
+    public Mono<ResponseEntity<Object>> deleteUser(long userId) {
+        return delete("/" + userId)
+                .doFinally(signal -> responseCache.invalidate(API_PREFIX + "/" + userId));
     }
 }
@@ -2,12 +2,21 @@ package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import reactor.core.publisher.Mono;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+
+import static ru.practicum.shareit.util.Constants.CURSOR;
+import static ru.practicum.shareit.util.Constants.FROM;
+import static ru.practicum.shareit.util.Constants.SIZE;
 
 @Controller
 @RequestMapping(path = "/users")
@@ -19,32 +28,44 @@ public class UserController {
     private final UserClient userClient;
 
     @PostMapping
-    public ResponseEntity<Object> create(@RequestBody @Valid UserDto userDto) {
+    public Mono<ResponseEntity<Object>> create(@RequestBody @Valid UserDto userDto) {
         log.info("Creating user {}", userDto);
         return userClient.create(userDto);
     }
 
     @PatchMapping("/{userId}")
-    public ResponseEntity<Object> updateUser(@RequestBody UserDto userDto,
-                                             @PathVariable Long userId) {
+    public Mono<ResponseEntity<Object>> updateUser(@RequestBody UserDto userDto,
+                                                   @PathVariable Long userId) {
         log.info("Получен PATCH-запрос  обновления пользователя с ID={}", userId);
         return userClient.update(userId, userDto);
     }
 
     @GetMapping("/{userId}")
-    public ResponseEntity<Object> getUser(@PathVariable Long userId) {
+    public Mono<ResponseEntity<Object>> getUser(@PathVariable Long userId) {
         log.info("Получен PATCH-запрос получение пользователя с ID={}", userId);
         return userClient.getUser(userId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getUsers() {
-        log.info("Получен PATCH-запрос получение всех пользователей");
-        return userClient.getUsers();
+    public Mono<ResponseEntity<Object>> getUsers(@PositiveOrZero @RequestParam(value = FROM, defaultValue = "0") Integer from,
+                                                 @Positive @RequestParam(value = SIZE, required = false) Integer size,
+                                                 @RequestParam(value = CURSOR, required = false) String cursor) {
+        if (size == null) {
+            log.info("Получен GET-запрос получение всех пользователей");
+            return userClient.getUsers();
+        }
+        log.info("Получен GET-запрос получение страницы пользователей from={}, size={}", from, size);
+        return userClient.getUsers(from, size, cursor);
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Mono<ResponseEntity<ResponseBodyEmitter>> streamUsers() {
+        log.info("Получен GET-запрос выгрузки всех пользователей потоком");
+        return userClient.streamUsers();
     }
 
     @DeleteMapping("/{userId}")
-    public ResponseEntity<Object> deleteUser(@PathVariable Long userId) {
+    public Mono<ResponseEntity<Object>> deleteUser(@PathVariable Long userId) {
         log.info("Получен PATCH-запрос удаления пользователя");
         return userClient.deleteUser(userId);
     }
@@ -9,4 +9,10 @@ public final class Constants {
     public static final String FROM = "from";
 
     public static final String SIZE = "size";
+
+    public static final String CURSOR = "cursor";
+
+    public static final String NEXT_CURSOR = "X-Next-Cursor";
+
+    public static final int MAX_BATCH = 1000;
 }
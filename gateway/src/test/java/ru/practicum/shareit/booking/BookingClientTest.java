@@ -0,0 +1,87 @@
+package ru.practicum.shareit.booking;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.GatewayTransport;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ResponseCacheProperties;
+import ru.practicum.shareit.item.ItemClient;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class BookingClientTest {
+    private final GatewayTransport itemTransport = mock(GatewayTransport.class);
+    private final GatewayTransport bookingTransport = mock(GatewayTransport.class);
+    private ItemClient itemClient;
+    private BookingClient bookingClient;
+
+    @BeforeEach
+    public void addEnvironsForAll() {
+        ResponseCache responseCache = new ResponseCache(new ResponseCacheProperties(), new SimpleMeterRegistry());
+        itemClient = new ItemClient("http://localhost:9090", baseUrl -> itemTransport, responseCache);
+        bookingClient = new BookingClient("http://localhost:9090", baseUrl -> bookingTransport, responseCache);
+        when(itemTransport.exchange(any(), any(), any(), any(), any()))
+                .thenAnswer(invocation -> Mono.just(ResponseEntity.ok("{}".getBytes(StandardCharsets.UTF_8))));
+        when(bookingTransport.exchange(any(), any(), any(), any(), any()))
+                .thenAnswer(invocation -> Mono.just(ResponseEntity.ok("{}".getBytes(StandardCharsets.UTF_8))));
+    }
+
+    @Test
+    void bookItemInvalidatesItemTest() {
+        itemClient.findItemById(1L, 1L).block();
+        itemClient.findItemById(2L, 1L).block();
+
+        bookingClient.bookItem(2L, booking(1L)).block();
+        itemClient.findItemById(1L, 1L).block();
+        itemClient.findItemById(2L, 1L).block();
+
+        verify(itemTransport, times(2)).exchange(HttpMethod.GET, "/1", 1L, null, null);
+        verify(itemTransport, times(1)).exchange(HttpMethod.GET, "/2", 1L, null, null);
+    }
+
+    @Test
+    void bookItemsInvalidatesEveryItemTest() {
+        itemClient.findItemById(1L, 1L).block();
+        itemClient.findItemById(2L, 1L).block();
+
+        bookingClient.bookItems(2L, List.of(booking(1L), booking(2L), booking(1L))).block();
+        itemClient.findItemById(1L, 1L).block();
+        itemClient.findItemById(2L, 1L).block();
+
+        verify(itemTransport, times(2)).exchange(HttpMethod.GET, "/1", 1L, null, null);
+        verify(itemTransport, times(2)).exchange(HttpMethod.GET, "/2", 1L, null, null);
+    }
+
+    @Test
+    void approveInvalidatesOwnerItemsTest() {
+        itemClient.findItemById(1L, 1L).block();
+        itemClient.findItemById(2L, 1L).block();
+        itemClient.findItemById(1L, 2L).block();
+
+        bookingClient.update(1L, 5L, true).block();
+        itemClient.findItemById(1L, 1L).block();
+        itemClient.findItemById(2L, 1L).block();
+        itemClient.findItemById(1L, 2L).block();
+
+        verify(itemTransport, times(2)).exchange(HttpMethod.GET, "/1", 1L, null, null);
+        verify(itemTransport, times(2)).exchange(HttpMethod.GET, "/2", 1L, null, null);
+        verify(itemTransport, times(1)).exchange(HttpMethod.GET, "/1", 2L, null, null);
+    }
+
+    private static BookItemRequestDto booking(long itemId) {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        return new BookItemRequestDto(itemId, start, start.plusDays(1));
+    }
+}
@@ -0,0 +1,131 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+public class ResponseCacheTest {
+    private ResponseCache responseCache;
+    private AtomicInteger calls;
+
+    @BeforeEach
+    public void addEnvironsForAll() {
+        responseCache = new ResponseCache(new ResponseCacheProperties(), new SimpleMeterRegistry());
+        calls = new AtomicInteger();
+    }
+
+    @Test
+    void keysDifferPerUserTest() {
+        assertThat(body(responseCache.get("/items/1", 1L, loader(HttpStatus.OK, "owner"))), equalTo("owner"));
+        assertThat(body(responseCache.get("/items/1", 2L, loader(HttpStatus.OK, "booker"))), equalTo("booker"));
+        assertThat(body(responseCache.get("/items/1", 1L, loader(HttpStatus.OK, "other"))), equalTo("owner"));
+        assertThat(body(responseCache.get("/items/1", 2L, loader(HttpStatus.OK, "other"))), equalTo("booker"));
+        assertThat(calls.get(), equalTo(2));
+    }
+
+    @Test
+    void notSuccessfulResponseNotCachedTest() {
+        ResponseEntity<Object> first = responseCache.get("/items/1", 1L, loader(HttpStatus.NOT_FOUND, "none")).block();
+        ResponseEntity<Object> second = responseCache.get("/items/1", 1L, loader(HttpStatus.OK, "item")).block();
+
+        assertThat(first.getStatusCode(), equalTo(HttpStatus.NOT_FOUND));
+        assertThat(second.getStatusCode(), equalTo(HttpStatus.OK));
+        assertThat(body(responseCache.get("/items/1", 1L, loader(HttpStatus.OK, "other"))), equalTo("item"));
+        assertThat(calls.get(), equalTo(2));
+    }
+
+    @Test
+    void invalidateDropsAllUsersOfResourceTest() {
+        responseCache.get("/items/1", 1L, loader(HttpStatus.OK, "owner")).block();
+        responseCache.get("/items/1", 2L, loader(HttpStatus.OK, "booker")).block();
+        responseCache.get("/items/2", 1L, loader(HttpStatus.OK, "second")).block();
+
+        responseCache.invalidate("/items/1");
+
+        assertThat(body(responseCache.get("/items/1", 1L, loader(HttpStatus.OK, "owner new"))), equalTo("owner new"));
+        assertThat(body(responseCache.get("/items/1", 2L, loader(HttpStatus.OK, "booker new"))), equalTo("booker new"));
+        assertThat(body(responseCache.get("/items/2", 1L, loader(HttpStatus.OK, "other"))), equalTo("second"));
+        assertThat(calls.get(), equalTo(5));
+    }
+
+    @Test
+    void invalidateForUserDropsOnlyUserResourcesTest() {
+        responseCache.get("/items/1", 1L, loader(HttpStatus.OK, "owner")).block();
+        responseCache.get("/items/1", 2L, loader(HttpStatus.OK, "booker")).block();
+        responseCache.get("/requests/1", 1L, loader(HttpStatus.OK, "request")).block();
+
+        responseCache.invalidateForUser("/items/", 1L);
+
+        assertThat(body(responseCache.get("/items/1", 1L, loader(HttpStatus.OK, "owner new"))), equalTo("owner new"));
+        assertThat(body(responseCache.get("/items/1", 2L, loader(HttpStatus.OK, "other"))), equalTo("booker"));
+        assertThat(body(responseCache.get("/requests/1", 1L, loader(HttpStatus.OK, "other"))), equalTo("request"));
+        assertThat(calls.get(), equalTo(4));
+    }
+
+    @Test
+    void concurrentMissesLoadOnceTest() throws Exception {
+        final int threads = 8;
+        final CompletableFuture<ResponseEntity<Object>> upstream = new CompletableFuture<>();
+        final CountDownLatch start = new CountDownLatch(1);
+        final CountDownLatch subscribed = new CountDownLatch(threads);
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<CompletableFuture<ResponseEntity<Object>>>> requests = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                requests.add(executor.submit(() -> {
+                    start.await();
+                    CompletableFuture<ResponseEntity<Object>> response = responseCache.get("/items/1", 1L, () -> {
+                        calls.incrementAndGet();
+                        return Mono.fromFuture(upstream);
+                    }).toFuture();
+                    subscribed.countDown();
+                    return response;
+                }));
+            }
+            start.countDown();
+            assertThat(subscribed.await(5, TimeUnit.SECONDS), equalTo(true));
+            upstream.complete(ResponseEntity.ok(bytes("item")));
+
+            for (Future<CompletableFuture<ResponseEntity<Object>>> request : requests) {
+                ResponseEntity<Object> response = request.get(5, TimeUnit.SECONDS).get(5, TimeUnit.SECONDS);
+                assertThat(new String((byte[]) response.getBody(), StandardCharsets.UTF_8), equalTo("item"));
+            }
+            assertThat(calls.get(), equalTo(1));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Supplier<Mono<ResponseEntity<Object>>> loader(HttpStatus status, String body) {
+        return () -> {
+            calls.incrementAndGet();
+            return Mono.just(ResponseEntity.status(status).body(bytes(body)));
+        };
+    }
+
+    private static Object bytes(String body) {
+        return body.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String body(Mono<ResponseEntity<Object>> response) {
+        return new String((byte[]) response.block().getBody(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,86 @@
+package ru.practicum.shareit.item;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.GatewayTransport;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ResponseCacheProperties;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ItemClientTest {
+    private final GatewayTransport transport = mock(GatewayTransport.class);
+    private ItemClient itemClient;
+
+    @BeforeEach
+    public void addEnvironsForAll() {
+        ResponseCache responseCache = new ResponseCache(new ResponseCacheProperties(), new SimpleMeterRegistry());
+        itemClient = new ItemClient("http://localhost:9090", baseUrl -> transport, responseCache);
+        when(transport.exchange(any(), any(), any(), any(), any()))
+                .thenAnswer(invocation -> Mono.just(ResponseEntity.ok("{}".getBytes(StandardCharsets.UTF_8))));
+    }
+
+    @Test
+    void findItemByIdCachedPerUserTest() {
+        itemClient.findItemById(1L, 1L).block();
+        itemClient.findItemById(1L, 2L).block();
+        itemClient.findItemById(1L, 1L).block();
+        itemClient.findItemById(1L, 2L).block();
+
+        verify(transport, times(1)).exchange(HttpMethod.GET, "/1", 1L, null, null);
+        verify(transport, times(1)).exchange(HttpMethod.GET, "/1", 2L, null, null);
+    }
+
+    @Test
+    void updateInvalidatesItemTest() {
+        itemClient.findItemById(1L, 1L).block();
+        itemClient.findItemById(1L, 2L).block();
+        itemClient.findItemById(2L, 1L).block();
+
+        itemClient.update(new ItemDto(1L, "Дрель", "Новая дрель", true, null), 1L, 1L).block();
+        itemClient.findItemById(1L, 1L).block();
+        itemClient.findItemById(1L, 2L).block();
+        itemClient.findItemById(2L, 1L).block();
+
+        verify(transport, times(2)).exchange(HttpMethod.GET, "/1", 1L, null, null);
+        verify(transport, times(2)).exchange(HttpMethod.GET, "/1", 2L, null, null);
+        verify(transport, times(1)).exchange(HttpMethod.GET, "/2", 1L, null, null);
+    }
+
+    @Test
+    void createCommentInvalidatesItemTest() {
+        itemClient.findItemById(1L, 1L).block();
+        itemClient.findItemById(1L, 2L).block();
+
+        itemClient.createComment(2L, new CommentDto("Отличная дрель"), 1L).block();
+        itemClient.findItemById(1L, 1L).block();
+        itemClient.findItemById(1L, 2L).block();
+
+        verify(transport, times(2)).exchange(HttpMethod.GET, "/1", 1L, null, null);
+        verify(transport, times(2)).exchange(HttpMethod.GET, "/1", 2L, null, null);
+    }
+
+    @Test
+    void failedUpdateInvalidatesItemTest() {
+        itemClient.findItemById(1L, 1L).block();
+        when(transport.exchange(any(), any(), any(), any(), any()))
+                .thenAnswer(invocation -> Mono.error(new IllegalStateException("Сервер недоступен")));
+
+        itemClient.update(new ItemDto(1L, "Дрель", "Новая дрель", true, null), 1L, 1L)
+                .onErrorResume(e -> Mono.empty())
+                .block();
+        itemClient.findItemById(1L, 1L).onErrorResume(e -> Mono.empty()).block();
+
+        verify(transport, times(2)).exchange(HttpMethod.GET, "/1", 1L, null, null);
+    }
+}
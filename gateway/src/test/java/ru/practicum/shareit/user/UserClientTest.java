@@ -0,0 +1,58 @@
+package ru.practicum.shareit.user;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.GatewayTransport;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ResponseCacheProperties;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class UserClientTest {
+    private final GatewayTransport transport = mock(GatewayTransport.class);
+    private UserClient userClient;
+
+    @BeforeEach
+    public void addEnvironsForAll() {
+        ResponseCache responseCache = new ResponseCache(new ResponseCacheProperties(), new SimpleMeterRegistry());
+        userClient = new UserClient("http://localhost:9090", baseUrl -> transport, responseCache);
+        when(transport.exchange(any(), any(), any(), any(), any()))
+                .thenAnswer(invocation -> Mono.just(ResponseEntity.ok("{}".getBytes(StandardCharsets.UTF_8))));
+    }
+
+    @Test
+    void updateInvalidatesUserTest() {
+        userClient.getUser(1L).block();
+        userClient.getUser(2L).block();
+
+        userClient.update(1L, new UserDto(1L, "user", "user@mail.ru")).block();
+        userClient.getUser(1L).block();
+        userClient.getUser(2L).block();
+
+        verify(transport, times(2)).exchange(HttpMethod.GET, "/1", null, null, null);
+        verify(transport, times(1)).exchange(HttpMethod.GET, "/2", null, null, null);
+    }
+
+    @Test
+    void deleteInvalidatesUserTest() {
+        userClient.getUser(1L).block();
+        userClient.getUser(2L).block();
+
+        userClient.deleteUser(1L).block();
+        userClient.getUser(1L).block();
+        userClient.getUser(2L).block();
+
+        verify(transport, times(2)).exchange(HttpMethod.GET, "/1", null, null, null);
+        verify(transport, times(1)).exchange(HttpMethod.GET, "/2", null, null, null);
+    }
+}
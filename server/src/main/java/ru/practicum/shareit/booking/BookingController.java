@@ -1,11 +1,18 @@
 package ru.practicum.shareit.booking;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.exception.NotFoundEntityExeption;
+import ru.practicum.shareit.util.PageCursor;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static ru.practicum.shareit.util.Constants.*;
@@ -16,7 +23,8 @@ import static ru.practicum.shareit.util.Constants.*;
 @RequiredArgsConstructor
 public class BookingController {
     private final BookingService bookingService;
-    private final Sort sort = Sort.by("start").descending();
+    private final ObjectMapper objectMapper;
+    private final Sort sort = Sort.by("start").descending().and(Sort.by("id").descending());
 
     @PostMapping
     public BookingDto create(@RequestHeader(X_SHARER) Long userId,
@@ -26,6 +34,14 @@ public class BookingController {
         return bookingDto;
     }
 
+    @PostMapping("/batch")
+    public List<BookingDto> createAll(@RequestHeader(X_SHARER) Long userId,
+                                      @RequestBody List<BookingRequestDto> bookingRequestDtos) {
+        List<BookingDto> bookingDtos = bookingService.createAll(bookingRequestDtos, userId);
+        log.debug("Пакетно забронировано предметов : {}", bookingDtos.size());
+        return bookingDtos;
+    }
+
     @PatchMapping("/{bookingId}")
     public BookingDto update(@RequestHeader(X_SHARER) Long userId,
                              @PathVariable Long bookingId,
@@ -45,24 +61,57 @@ public class BookingController {
     }
 
     @GetMapping
-    public List<BookingDto> findAllByBooker(@RequestHeader(X_SHARER) Long userId,
-                                            @RequestParam(value = STATE, defaultValue = "ALL", required = false) String state,
-                                            @RequestParam(value = FROM, defaultValue = "0") Integer from,
-                                            @RequestParam(value = SIZE, defaultValue = "10") Integer size) {
-        PageRequest page = PageRequest.of(from > 0 ? from / size : 0, size, sort);
-        List<BookingDto> bookingDtoList = bookingService.findAllByBooker(userId, state, page);
+    public ResponseEntity<List<BookingDto>> findAllByBooker(@RequestHeader(X_SHARER) Long userId,
+                                                            @RequestParam(value = STATE, defaultValue = "ALL", required = false) String state,
+                                                            @RequestParam(value = FROM, defaultValue = "0") Integer from,
+                                                            @RequestParam(value = SIZE, defaultValue = "10") Integer size,
+                                                            @RequestParam(value = CURSOR, required = false) String cursor) {
+        List<BookingDto> bookingDtoList;
+        if (cursor != null && !cursor.isBlank()) {
+            bookingDtoList = bookingService.findAllByBooker(userId, state, PageCursor.decodeTimed(cursor), size);
+        } else {
+            PageRequest page = PageRequest.of(from > 0 ? from / size : 0, size, sort);
+            bookingDtoList = bookingService.findAllByBooker(userId, state, page);
+        }
         log.debug("Получен список забронированных предметов пользователя с id : {}", userId);
-        return bookingDtoList;
+        return PageCursor.toResponse(bookingDtoList, size, b -> PageCursor.of(b.getStart(), b.getId()));
     }
 
     @GetMapping("/owner")
-    public List<BookingDto> findAllByOwner(@RequestHeader(X_SHARER) Long userId,
-                                           @RequestParam(value = STATE, defaultValue = "ALL", required = false) String state,
-                                           @RequestParam(value = FROM, defaultValue = "0") Integer from,
-                                           @RequestParam(value = SIZE, defaultValue = "10") Integer size) {
-        final PageRequest page = PageRequest.of(from > 0 ? from / size : 0, size, sort);
-        List<BookingDto> bookingDtoList = bookingService.findAllByOwner(userId, state, page);
+    public ResponseEntity<List<BookingDto>> findAllByOwner(@RequestHeader(X_SHARER) Long userId,
+                                                           @RequestParam(value = STATE, defaultValue = "ALL", required = false) String state,
+                                                           @RequestParam(value = FROM, defaultValue = "0") Integer from,
+                                                           @RequestParam(value = SIZE, defaultValue = "10") Integer size,
+                                                           @RequestParam(value = CURSOR, required = false) String cursor) {
+        List<BookingDto> bookingDtoList;
+        if (cursor != null && !cursor.isBlank()) {
+            bookingDtoList = bookingService.findAllByOwner(userId, state, PageCursor.decodeTimed(cursor), size);
+        } else {
+            final PageRequest page = PageRequest.of(from > 0 ? from / size : 0, size, sort);
+            bookingDtoList = bookingService.findAllByOwner(userId, state, page);
+        }
         log.debug("Получен список забронированных предметов пользователя с id : {}", userId);
-        return bookingDtoList;
+        return PageCursor.toResponse(bookingDtoList, size, b -> PageCursor.of(b.getStart(), b.getId()));
+    }
+
+    @GetMapping("/owner/export")
+    public ResponseEntity<StreamingResponseBody> exportAllByOwner(@RequestHeader(X_SHARER) Long userId,
+                                                                  @RequestParam(value = STATE, defaultValue = "ALL", required = false) String state,
+                                                                  @RequestParam(value = "start", required = false)
+                                                                  @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+                                                                  @RequestParam(value = "end", required = false)
+                                                                  @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+                                                                  @RequestParam(value = "format", defaultValue = "ndjson") String format) {
+        final BookingExportFormat exportFormat = BookingExportFormat.from(format)
+                .orElseThrow(() -> new NotFoundEntityExeption("Неизвестный формат выгрузки: " + format));
+        log.debug("Выгрузка бронирований вещей пользователя с id : {}", userId);
+        StreamingResponseBody body = out -> {
+            BookingExportWriter writer = new BookingExportWriter(out, exportFormat, objectMapper);
+            bookingService.exportAllByOwner(userId, state, start, end, writer::write);
+            writer.finish();
+        };
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .body(body);
     }
 }
\ No newline at end of file
@@ -17,6 +17,16 @@ public class BookingDto {
     private Booker booker;
     private Status status;
 
+    public BookingDto(Long id, LocalDateTime start, LocalDateTime end, Status status,
+                      Long itemId, String itemName, Long bookerId, String bookerName) {
+        this.id = id;
+        this.start = start;
+        this.end = end;
+        this.status = status;
+        this.item = new Item(itemId, itemName);
+        this.booker = new Booker(bookerId, bookerName);
+    }
+
     @Data
     @AllArgsConstructor
     public static class Booker {
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.booking;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+@Getter
+@RequiredArgsConstructor
+public enum BookingExportFormat {
+    NDJSON(MediaType.APPLICATION_NDJSON),
+    CSV(new MediaType("text", "csv", StandardCharsets.UTF_8));
+
+    private final MediaType mediaType;
+
+    public static Optional<BookingExportFormat> from(String format) {
+        for (BookingExportFormat exportFormat : values()) {
+            if (exportFormat.name().equalsIgnoreCase(format))
+                return Optional.of(exportFormat);
+        }
+        return Optional.empty();
+    }
+}
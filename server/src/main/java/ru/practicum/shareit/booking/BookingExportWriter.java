@@ -0,0 +1,91 @@
+package ru.practicum.shareit.booking;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Построчная запись выгрузки бронирований. Заголовок CSV пишется вместе с первой строкой или в finish(),
+ * чтобы ошибка проверки до начала выгрузки не смешивалась с частью ответа.
+ */
+class BookingExportWriter {
+    private static final String CSV_HEADER = "id,start,end,status,itemId,itemName,bookerId,bookerName";
+
+    private final Writer out;
+    private final BookingExportFormat format;
+    private final ObjectWriter json;
+    private boolean started;
+
+    BookingExportWriter(OutputStream out, BookingExportFormat format, ObjectMapper objectMapper) {
+        this.out = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        this.format = format;
+        this.json = objectMapper.writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+    }
+
+    void write(BookingDto booking) {
+        try {
+            start();
+            if (format == BookingExportFormat.CSV) {
+                writeCsv(booking);
+            } else {
+                json.writeValue(out, booking);
+            }
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    void finish() throws IOException {
+        start();
+        out.flush();
+    }
+
+    private void start() throws IOException {
+        if (started) {
+            return;
+        }
+        started = true;
+        if (format == BookingExportFormat.CSV) {
+            out.write(CSV_HEADER);
+            out.write('\n');
+        }
+    }
+
+    private void writeCsv(BookingDto booking) throws IOException {
+        out.write(String.valueOf(booking.getId()));
+        out.write(',');
+        out.write(String.valueOf(booking.getStart()));
+        out.write(',');
+        out.write(String.valueOf(booking.getEnd()));
+        out.write(',');
+        out.write(String.valueOf(booking.getStatus()));
+        out.write(',');
+        out.write(String.valueOf(booking.getItem().getId()));
+        out.write(',');
+        out.write(csv(booking.getItem().getName()));
+        out.write(',');
+        out.write(String.valueOf(booking.getBooker().getId()));
+        out.write(',');
+        out.write(csv(booking.getBooker().getName()));
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.lang.Nullable;
+import ru.practicum.shareit.util.PageCursor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface BookingFeedRepository {
+
+    List<BookingDto> findByOwner(Long ownerId, BookingState state, LocalDateTime date, Pageable page);
+
+    List<BookingDto> findByBookerAfter(Long bookerId, BookingState state, LocalDateTime date, PageCursor cursor, int size);
+
+    List<BookingDto> findByOwnerAfter(Long ownerId, BookingState state, LocalDateTime date, PageCursor cursor, int size);
+
+    /**
+     * Все бронирования вещей владельца курсором JDBC, без offset и без загрузки сущностей. Диапазон отбирает
+     * бронирования, пересекающиеся с [rangeStart, rangeEnd). Поток нужно закрыть внутри транзакции.
+     */
+    Stream<BookingDto> streamByOwner(Long ownerId, BookingState state, LocalDateTime date,
+                                     @Nullable LocalDateTime rangeStart, @Nullable LocalDateTime rangeEnd);
+}
@@ -0,0 +1,130 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.lang.Nullable;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.util.PageCursor;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+
+public class BookingFeedRepositoryImpl implements BookingFeedRepository {
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<BookingDto> findByOwner(Long ownerId, BookingState state, LocalDateTime date, Pageable page) {
+        return findFeed(BookingFeedRepositoryImpl::owner, ownerId, state, date, null, page.getOffset(), page.getPageSize());
+    }
+
+    @Override
+    public List<BookingDto> findByBookerAfter(Long bookerId, BookingState state, LocalDateTime date,
+                                           PageCursor cursor, int size) {
+        return findFeed(BookingFeedRepositoryImpl::booker, bookerId, state, date, cursor, 0, size);
+    }
+
+    @Override
+    public List<BookingDto> findByOwnerAfter(Long ownerId, BookingState state, LocalDateTime date,
+                                          PageCursor cursor, int size) {
+        return findFeed(BookingFeedRepositoryImpl::owner, ownerId, state, date, cursor, 0, size);
+    }
+
+    @Override
+    public Stream<BookingDto> streamByOwner(Long ownerId, BookingState state, LocalDateTime date,
+                                            @Nullable LocalDateTime rangeStart, @Nullable LocalDateTime rangeEnd) {
+        final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<BookingDto> query = cb.createQuery(BookingDto.class);
+        final Root<Booking> booking = query.from(Booking.class);
+        final Join<Booking, Item> item = booking.join("item");
+        final Join<Booking, User> booker = booking.join("booker");
+
+        final List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(owner(item, booker), ownerId));
+        predicates.addAll(statePredicates(cb, booking, state, date));
+        if (rangeStart != null) {
+            predicates.add(cb.greaterThan(booking.get("end"), rangeStart));
+        }
+        if (rangeEnd != null) {
+            predicates.add(cb.lessThan(booking.get("start"), rangeEnd));
+        }
+        return entityManager.createQuery(select(cb, query, booking, item, booker, predicates))
+                .setHint(HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .getResultStream();
+    }
+
+    private static Path<Long> booker(Join<Booking, Item> item, Join<Booking, User> booker) {
+        return booker.get("id");
+    }
+
+    private static Path<Long> owner(Join<Booking, Item> item, Join<Booking, User> booker) {
+        return item.get("owner").get("id");
+    }
+
+    private List<BookingDto> findFeed(BiFunction<Join<Booking, Item>, Join<Booking, User>, Path<Long>> userPath,
+                                      Long userId, BookingState state, LocalDateTime date, PageCursor cursor,
+                                      long offset, int size) {
+        final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<BookingDto> query = cb.createQuery(BookingDto.class);
+        final Root<Booking> booking = query.from(Booking.class);
+        final Join<Booking, Item> item = booking.join("item");
+        final Join<Booking, User> booker = booking.join("booker");
+        final Path<LocalDateTime> start = booking.get("start");
+        final Path<Long> id = booking.get("id");
+
+        final List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(userPath.apply(item, booker), userId));
+        predicates.addAll(statePredicates(cb, booking, state, date));
+        if (cursor != null) {
+            predicates.add(cb.or(
+                    cb.lessThan(start, cursor.getTime()),
+                    cb.and(cb.equal(start, cursor.getTime()), cb.lessThan(id, cursor.getId()))));
+        }
+        return entityManager.createQuery(select(cb, query, booking, item, booker, predicates))
+                .setFirstResult(Math.toIntExact(offset))
+                .setMaxResults(size)
+                .getResultList();
+    }
+
+    private static CriteriaQuery<BookingDto> select(CriteriaBuilder cb, CriteriaQuery<BookingDto> query,
+                                                    Root<Booking> booking, Join<Booking, Item> item,
+                                                    Join<Booking, User> booker, List<Predicate> predicates) {
+        final Path<LocalDateTime> start = booking.get("start");
+        final Path<Long> id = booking.get("id");
+        return query.select(cb.construct(BookingDto.class, id, start, booking.get("end"), booking.get("status"),
+                        item.get("id"), item.get("name"), booker.get("id"), booker.get("name")))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.desc(start), cb.desc(id));
+    }
+
+    private List<Predicate> statePredicates(CriteriaBuilder cb, Root<Booking> booking, BookingState state,
+                                            LocalDateTime date) {
+        final Path<LocalDateTime> start = booking.get("start");
+        final Path<LocalDateTime> end = booking.get("end");
+        final Path<Status> status = booking.get("status");
+        switch (state) {
+            case CURRENT:
+                return List.of(cb.lessThan(start, date), cb.greaterThan(end, date));
+            case PAST:
+                return List.of(cb.lessThan(end, date));
+            case FUTURE:
+                return List.of(cb.greaterThan(start, date));
+            case WAITING:
+                return List.of(cb.greaterThan(start, date), cb.equal(status, Status.WAITING));
+            case REJECTED:
+                return List.of(cb.greaterThan(start, date), cb.equal(status, Status.REJECTED));
+            default:
+                return List.of();
+        }
+    }
+}
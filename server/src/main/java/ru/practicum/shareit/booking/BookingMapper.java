@@ -4,6 +4,8 @@ import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.item.ItemDtoBooking;
 import ru.practicum.shareit.user.User;
 
+import java.time.temporal.ChronoUnit;
+
 public class BookingMapper {
     public static BookingDto toBookingDto(Booking booking) {
         BookingDto bookingDto = new BookingDto();
@@ -18,8 +20,9 @@ public class BookingMapper {
 
     public static Booking toBooking(BookingRequestDto bookingJson, Item item, User user) {
         Booking booking = new Booking();
-        booking.setEnd(bookingJson.getEnd());
-        booking.setStart(bookingJson.getStart());
+        // база хранит время с точностью до микросекунд, проверка пересечения должна сравнивать те же значения
+        booking.setEnd(bookingJson.getEnd().truncatedTo(ChronoUnit.MICROS));
+        booking.setStart(bookingJson.getStart().truncatedTo(ChronoUnit.MICROS));
         booking.setItem(item);
         booking.setBooker(user);
         booking.setStatus(Status.WAITING);
@@ -34,4 +37,13 @@ public class BookingMapper {
         bookingDto.setBookerId(booking.getBooker().getId());
         return bookingDto;
     }
+
+    public static ItemDtoBooking.BookingItemDto toBookingItemDto(BookingItemView booking) {
+        ItemDtoBooking.BookingItemDto bookingDto = new ItemDtoBooking.BookingItemDto();
+        bookingDto.setId(booking.getId());
+        bookingDto.setEnd(booking.getEnd());
+        bookingDto.setStart(booking.getStart());
+        bookingDto.setBookerId(booking.getBookerId());
+        return bookingDto;
+    }
 }
@@ -1,39 +1,64 @@
 package ru.practicum.shareit.booking;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.booking.availability.BookingIntervalView;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
-    Page<Booking> findByBooker_IdAndEndIsBefore(Long bookerId, LocalDateTime end, PageRequest pageRequest);
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingFeedRepository {
+    String BOOKING_DTO = "select new ru.practicum.shareit.booking.BookingDto(b.id, b.start, b.end, b.status, " +
+            "i.id, i.name, u.id, u.name) from Booking b join b.item i join b.booker u ";
 
-    Page<Booking> findAllByBooker_Id(Long bookerId, PageRequest pageRequest);
+    @Query(BOOKING_DTO + "where u.id = ?1 and b.end < ?2")
+    List<BookingDto> findByBooker_IdAndEndIsBefore(Long bookerId, LocalDateTime end, PageRequest pageRequest);
 
-    Page<Booking> findByBooker_IdAndStartIsBeforeAndEndIsAfter(Long bookerId, LocalDateTime start, LocalDateTime end, PageRequest pageRequest);
+    @Query(BOOKING_DTO + "where u.id = ?1")
+    List<BookingDto> findAllByBooker_Id(Long bookerId, PageRequest pageRequest);
 
-    Page<Booking> findByBooker_IdAndStartIsAfter(Long bookerId, LocalDateTime start, PageRequest pageRequest);
+    @Query(BOOKING_DTO + "where u.id = ?1 and b.start < ?2 and b.end > ?3")
+    List<BookingDto> findByBooker_IdAndStartIsBeforeAndEndIsAfter(Long bookerId, LocalDateTime start, LocalDateTime end, PageRequest pageRequest);
 
-    Page<Booking> findAllByItem_IdIn(List<Long> itemId, PageRequest pageRequest);
+    @Query(BOOKING_DTO + "where u.id = ?1 and b.start > ?2")
+    List<BookingDto> findByBooker_IdAndStartIsAfter(Long bookerId, LocalDateTime start, PageRequest pageRequest);
 
-    Page<Booking> findByItem_IdInAndStartIsBeforeAndEndIsAfter(List<Long> itemId, LocalDateTime date, LocalDateTime date1, PageRequest pageRequest);
+    @Query(BOOKING_DTO + "where u.id = ?1 and b.start > ?2 and b.status = ?3")
+    List<BookingDto> findByBooker_IdAndStartIsAfterAndStatusIs(Long userId, LocalDateTime date, PageRequest pageRequest, Status bookingStatus);
 
-    Page<Booking> findByItem_IdInAndEndIsBefore(List<Long> itemId, LocalDateTime date, PageRequest pageRequest);
+    @Query(value = "select b.id as id, b.item_id as itemId, b.booker_id as bookerId, " +
+            "b.start_date as start, b.end_date as \"end\", b.is_last as last " +
+            "from (select l.id, l.item_id, l.booker_id, l.start_date, l.end_date, true as is_last, " +
+            "row_number() over (partition by l.item_id order by l.end_date desc, l.id desc) as rn " +
+            "from bookings l " +
+            "where l.item_id in (?1) and l.status = 'APPROVED' and l.start_date < ?2 " +
+            "union all " +
+            "select n.id, n.item_id, n.booker_id, n.start_date, n.end_date, false as is_last, " +
+            "row_number() over (partition by n.item_id order by n.start_date, n.id) as rn " +
+            "from bookings n " +
+            "where n.item_id in (?1) and n.status = 'APPROVED' and n.start_date > ?2) b " +
+            "where b.rn = 1", nativeQuery = true)
+    List<BookingItemView> findLastAndNextByItemIds(List<Long> itemIds, LocalDateTime date);
 
-    Page<Booking> findByItem_IdInAndStartIsAfterAndStatusIs(List<Long> itemId, LocalDateTime date, PageRequest pageRequest, Status bookingStatus);
+    List<Booking> findByItem_IdAndEndIsBefore(Long itemId, LocalDateTime date);
 
-    Page<Booking> findByBooker_IdAndStartIsAfterAndStatusIs(Long userId, LocalDateTime date, PageRequest pageRequest, Status bookingStatus);
+    Optional<Booking> findByIdAndItemOwnerId(Long bookingId, Long userId);
 
-    Page<Booking> findByItem_IdInAndStartIsAfter(List<Long> itemIdList, LocalDateTime date, PageRequest pageRequest);
+    boolean existsByItem_IdAndStatusInAndStartIsBeforeAndEndIsAfter(Long itemId, Collection<Status> statuses,
+                                                                     LocalDateTime end, LocalDateTime start);
 
-    List<Booking> findAllByItem_IdInAndStatusIs(List<Long> itemId, Status status);
+    @Query("select b.id as id, b.start as start, b.end as end from Booking b " +
+            "where b.item.id = ?1 and b.status in ?2 and b.end > ?3")
+    List<BookingIntervalView> findIntervalsEndingAfter(Long itemId, Collection<Status> statuses, LocalDateTime date);
 
-    List<Booking> findByItem_IdAndStatusIs(Long itemId, Status status);
+    @Query("select b.id as id, b.start as start, b.end as end from Booking b " +
+            "where b.item.id = ?1 and b.status in ?2 and b.end > ?3 and b.start < ?4")
+    List<BookingIntervalView> findIntervalsBetween(Long itemId, Collection<Status> statuses, LocalDateTime start,
+                                                   LocalDateTime end);
 
-    List<Booking> findByItem_IdAndEndIsBefore(Long itemId, LocalDateTime date);
-
-    Optional<Booking> findByIdAndItemOwnerId(Long bookingId, Long userId);
+    @Query("select distinct b.item.id from Booking b where b.booker.id = ?1 or b.item.owner.id = ?1")
+    List<Long> findItemIdsByBookerIdOrOwnerId(Long userId);
 }
@@ -1,12 +1,17 @@
 package ru.practicum.shareit.booking;
 
 import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.util.PageCursor;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface BookingService {
     BookingDto create(BookingRequestDto bookingJsonDto, Long userId);
 
+    List<BookingDto> createAll(List<BookingRequestDto> bookingJsonDtos, Long userId);
+
     BookingDto update(Long bookingId, Long userId, boolean isApproved);
 
     BookingDto findById(Long userId, Long bookingId);
@@ -14,4 +19,11 @@ public interface BookingService {
     List<BookingDto> findAllByBooker(Long userId, String state, PageRequest page);
 
     List<BookingDto> findAllByOwner(Long userId, String state, PageRequest page);
+
+    List<BookingDto> findAllByBooker(Long userId, String state, PageCursor cursor, int size);
+
+    List<BookingDto> findAllByOwner(Long userId, String state, PageCursor cursor, int size);
+
+    void exportAllByOwner(Long userId, String state, LocalDateTime rangeStart, LocalDateTime rangeEnd,
+                          Consumer<BookingDto> consumer);
 }
@@ -1,22 +1,31 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.availability.ItemAvailability;
+import ru.practicum.shareit.booking.summary.ItemBookingSummaries;
 import ru.practicum.shareit.exception.NotFoundEntityExeption;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserIdIndex;
 import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.util.PageCursor;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static java.util.Collections.emptyList;
 import static ru.practicum.shareit.booking.BookingMapper.toBooking;
@@ -26,10 +35,14 @@ import static ru.practicum.shareit.booking.BookingMapper.toBookingDto;
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class BookingServiceImpl implements BookingService {
+    private static final List<Status> BLOCKING_STATUSES = List.of(Status.WAITING, Status.APPROVED);
 
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
     private final BookingRepository bookingRepository;
+    private final ItemAvailability itemAvailability;
+    private final UserIdIndex userIdIndex;
+    private final ItemBookingSummaries itemBookingSummaries;
 
     @Override
     @Transactional
@@ -37,8 +50,31 @@ public class BookingServiceImpl implements BookingService {
         checkDateBooking(bookingJsonDto);
         final User user = findAndCheckUserId(userId);
         final Item item = findAndCheckAccessBookingItemId(bookingJsonDto, userId);
-        final Booking booking = toBooking(bookingJsonDto, item, user);
-        return toBookingDto(bookingRepository.save(booking));
+        return book(bookingJsonDto, item, user);
+    }
+
+    @Override
+    @Transactional
+    public List<BookingDto> createAll(List<BookingRequestDto> bookingJsonDtos, Long userId) {
+        bookingJsonDtos.forEach(this::checkDateBooking);
+        final User user = findAndCheckUserId(userId);
+        final Set<Long> itemIds = bookingJsonDtos.stream()
+                .map(BookingRequestDto::getItemId)
+                .collect(Collectors.toSet());
+        // блокировки берутся в порядке id, встречные пакеты не блокируют друг друга
+        final Map<Long, Item> items = itemRepository.findAllByIdForUpdate(itemIds)
+                .stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        final List<BookingDto> bookings = new ArrayList<>(bookingJsonDtos.size());
+        for (BookingRequestDto bookingJsonDto : bookingJsonDtos) {
+            final Long itemId = bookingJsonDto.getItemId();
+            final Item item = items.get(itemId);
+            if (item == null)
+                throw new NotFoundException("Предмет с id : " + itemId + " не найден.");
+            checkAccessBookingItem(item, userId);
+            bookings.add(book(bookingJsonDto, item, user));
+        }
+        return bookings;
     }
 
     @Override
@@ -51,10 +87,14 @@ public class BookingServiceImpl implements BookingService {
             throw new NotFoundException("Пользователь с id : " + userId + " не может обновить статус этого предмета.");
         if (!booking.getStatus().equals(Status.WAITING))
             throw new NotFoundEntityExeption("Статус бронирования должен быть WAITING.");
-        if (isApproved)
+        if (isApproved) {
             booking.setStatus(Status.APPROVED);
-        else
+            // отклонение брони в статусе WAITING сводку не меняет, в ней только подтверждённые брони
+            itemBookingSummaries.refresh(List.of(booking.getItem().getId()));
+        } else {
             booking.setStatus(Status.REJECTED);
+            itemAvailability.release(booking);
+        }
         return toBookingDto(bookingRepository.save(booking));
     }
 
@@ -68,9 +108,8 @@ public class BookingServiceImpl implements BookingService {
     @Override
     public List<BookingDto> findAllByBooker(Long userId, String state, PageRequest pageRequest) {
         final BookingState bookingState = BookingState.valueOf(state);
-        findAndCheckUserId(userId);
         final LocalDateTime date = LocalDateTime.now();
-        Page<Booking> bookings;
+        List<BookingDto> bookings;
         switch (bookingState) {
             case ALL:
                 bookings = bookingRepository.findAllByBooker_Id(userId, pageRequest);
@@ -91,50 +130,61 @@ public class BookingServiceImpl implements BookingService {
                 bookings = bookingRepository.findByBooker_IdAndStartIsAfterAndStatusIs(userId, date, pageRequest, Status.REJECTED);
                 break;
             default:
-                return emptyList();
+                bookings = emptyList();
         }
-        return bookings
-                .stream()
-                .map(BookingMapper::toBookingDto)
-                .collect(Collectors.toList());
+        return checkUserIfEmpty(bookings, userId);
     }
 
     @Override
     public List<BookingDto> findAllByOwner(Long userId, String state, PageRequest pageRequest) {
         final BookingState bookingState = BookingState.valueOf(state);
+        return checkUserIfEmpty(bookingRepository.findByOwner(userId, bookingState, LocalDateTime.now(),
+                pageRequest), userId);
+    }
+
+    @Override
+    public List<BookingDto> findAllByBooker(Long userId, String state, PageCursor cursor, int size) {
+        final BookingState bookingState = BookingState.valueOf(state);
+        return checkUserIfEmpty(bookingRepository.findByBookerAfter(userId, bookingState, LocalDateTime.now(),
+                cursor, size), userId);
+    }
+
+    @Override
+    public List<BookingDto> findAllByOwner(Long userId, String state, PageCursor cursor, int size) {
+        final BookingState bookingState = BookingState.valueOf(state);
+        return checkUserIfEmpty(bookingRepository.findByOwnerAfter(userId, bookingState, LocalDateTime.now(),
+                cursor, size), userId);
+    }
+
+    @Override
+    public void exportAllByOwner(Long userId, String state, LocalDateTime rangeStart, LocalDateTime rangeEnd,
+                                 Consumer<BookingDto> consumer) {
+        final BookingState bookingState = BookingState.valueOf(state);
+        if (rangeStart != null && rangeEnd != null && !rangeStart.isBefore(rangeEnd))
+            throw new NotFoundEntityExeption("Ошибка диапазона дат выгрузки.");
         findAndCheckUserId(userId);
-        final List<Long> itemIdList = itemRepository.findAllByOwnerId(userId)
-                .stream()
-                .map(Item::getId)
-                .collect(Collectors.toList());
-        final LocalDateTime date = LocalDateTime.now();
-        Page<Booking> bookings;
-        switch (bookingState) {
-            case ALL:
-                bookings = bookingRepository.findAllByItem_IdIn(itemIdList, pageRequest);
-                break;
-            case CURRENT:
-                bookings = bookingRepository.findByItem_IdInAndStartIsBeforeAndEndIsAfter(itemIdList, date, date, pageRequest);
-                break;
-            case PAST:
-                bookings = bookingRepository.findByItem_IdInAndEndIsBefore(itemIdList, date, pageRequest);
-                break;
-            case FUTURE:
-                bookings = bookingRepository.findByItem_IdInAndStartIsAfter(itemIdList, date, pageRequest);
-                break;
-            case WAITING:
-                bookings = bookingRepository.findByItem_IdInAndStartIsAfterAndStatusIs(itemIdList, date, pageRequest, Status.WAITING);
-                break;
-            case REJECTED:
-                bookings = bookingRepository.findByItem_IdInAndStartIsAfterAndStatusIs(itemIdList, date, pageRequest, Status.REJECTED);
-                break;
-            default:
-                return emptyList();
+        try (Stream<BookingDto> bookings = bookingRepository.streamByOwner(userId, bookingState,
+                LocalDateTime.now(), rangeStart, rangeEnd)) {
+            bookings.forEach(consumer);
         }
-        return bookings
-                .stream()
-                .map(BookingMapper::toBookingDto)
-                .collect(Collectors.toList());
+    }
+
+    /**
+     * Вызывается под блокировкой предмета. Календарь быстро отклоняет заведомо занятые даты, решение о свободных
+     * даёт база: календарь не видит брони, записанные другими экземплярами сервера.
+     */
+    private BookingDto book(BookingRequestDto bookingJsonDto, Item item, User user) {
+        final Booking booking = toBooking(bookingJsonDto, item, user);
+        if (!itemAvailability.isFree(item.getId(), booking.getStart(), booking.getEnd()))
+            throw new NotFoundEntityExeption("Предмет уже забронирован на указанные даты.");
+        if (bookingRepository.existsByItem_IdAndStatusInAndStartIsBeforeAndEndIsAfter(item.getId(), BLOCKING_STATUSES,
+                booking.getEnd(), booking.getStart())) {
+            itemAvailability.evict(List.of(item.getId()));
+            throw new NotFoundEntityExeption("Предмет уже забронирован на указанные даты.");
+        }
+        bookingRepository.save(booking);
+        itemAvailability.reserve(booking);
+        return toBookingDto(booking);
     }
 
     private void checkDateBooking(BookingRequestDto bookingJsonDto) {
@@ -143,6 +193,16 @@ public class BookingServiceImpl implements BookingService {
             throw new NotFoundEntityExeption("Ошибка даты бронирования.");
     }
 
+    /**
+     * Бронирования в ленте ссылаются на бронирующего и на вещь владельца внешними ключами, поэтому непустой
+     * результат уже подтверждает пользователя. Отдельная проверка нужна только для пустого.
+     */
+    private List<BookingDto> checkUserIfEmpty(List<BookingDto> bookings, Long userId) {
+        if (bookings.isEmpty() && !userIdIndex.exists(userId))
+            throw new NotFoundException("Пользователь с id : " + userId + " не найден.");
+        return bookings;
+    }
+
     private User findAndCheckUserId(Long userId) {
         return userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException("Пользователь с id : " + userId + " не найден."));
@@ -150,14 +210,18 @@ public class BookingServiceImpl implements BookingService {
 
     private Item findAndCheckAccessBookingItemId(BookingRequestDto bookingJsonDto, Long userId) {
         final Long itemId = bookingJsonDto.getItemId();
-        Item item = itemRepository.findById(itemId)
+        Item item = itemRepository.findByIdForUpdate(itemId)
                 .orElseThrow(() -> new NotFoundException("Предмет с id : " + itemId + " не найден."));
+        checkAccessBookingItem(item, userId);
+        return item;
+    }
+
+    private void checkAccessBookingItem(Item item, Long userId) {
         if (!item.getIsAvailable())
             throw new NotFoundEntityExeption("Предмет не доступен для бронирования.");
         final Long id = item.getOwner().getId();
         if (Objects.equals(id, userId))
             throw new NotFoundException("Бронирование своего предмета запрещено.");
-        return item;
     }
 }
 
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.booking;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class FreeSlotDto {
+    private LocalDateTime start;
+    private LocalDateTime end;
+}
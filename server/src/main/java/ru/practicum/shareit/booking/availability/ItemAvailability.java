@@ -0,0 +1,142 @@
+package ru.practicum.shareit.booking.availability;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.FreeSlotDto;
+import ru.practicum.shareit.booking.Status;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Календари броней предметов в памяти процесса. Календарь только быстро отклоняет заведомо занятые даты
+ * и строит свободные окна, пересечение при создании брони окончательно проверяет база под блокировкой предмета.
+ * Календарь загружается без закончившихся броней и живёт ограниченное время, поэтому брони, записанные
+ * в обход этого процесса, он видит не позже чем через {@link #TTL}.
+ */
+@Component
+@RequiredArgsConstructor
+public class ItemAvailability {
+    private static final List<Status> BLOCKING_STATUSES = List.of(Status.WAITING, Status.APPROVED);
+    private static final int MAX_CALENDARS = 10_000;
+    private static final Duration TTL = Duration.ofMinutes(10);
+
+    private final BookingRepository bookingRepository;
+    private final Cache<Long, ItemCalendar> calendars = Caffeine.newBuilder()
+            .maximumSize(MAX_CALENDARS)
+            .expireAfterWrite(TTL)
+            .build();
+
+    public boolean isFree(Long itemId, LocalDateTime start, LocalDateTime end) {
+        return !calendar(itemId).overlaps(toMicros(start), toMicros(end));
+    }
+
+    public void reserve(Booking booking) {
+        final ItemCalendar calendar = calendar(booking.getItem().getId());
+        final long id = booking.getId();
+        calendar.add(id, toMicros(booking.getStart()), toMicros(booking.getEnd()));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        calendar.remove(id);
+                    }
+                }
+            });
+        }
+    }
+
+    public void release(Booking booking) {
+        final ItemCalendar calendar = calendars.getIfPresent(booking.getItem().getId());
+        if (calendar == null) {
+            return;
+        }
+        final long id = booking.getId();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            calendar.remove(id);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                calendar.remove(id);
+            }
+        });
+    }
+
+    /**
+     * Сбрасывает календари предметов, чьи брони изменились в базе в обход календаря. Календарь сбрасывается сразу
+     * и ещё раз после фиксации, чтобы параллельная загрузка не оставила в памяти данные до изменения.
+     */
+    public void evict(Collection<Long> itemIds) {
+        if (itemIds.isEmpty()) {
+            return;
+        }
+        calendars.invalidateAll(itemIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    calendars.invalidateAll(itemIds);
+                }
+            });
+        }
+    }
+
+    /**
+     * Сбрасывает календари предметов, которые бронировал пользователь или которые ему принадлежат, перед удалением
+     * пользователя: его брони база удалит каскадно.
+     */
+    public void evictForUser(Long userId) {
+        evict(bookingRepository.findItemIdsByBookerIdOrOwnerId(userId));
+    }
+
+    public List<FreeSlotDto> findFreeSlots(Long itemId, LocalDateTime from, LocalDateTime to) {
+        ItemCalendar calendar = calendar(itemId);
+        if (toMicros(from) < calendar.getHorizon()) {
+            // закончившихся броней в календаре нет, окна в прошлом строятся по базе
+            calendar = new ItemCalendar();
+            for (BookingIntervalView booking : bookingRepository.findIntervalsBetween(itemId, BLOCKING_STATUSES,
+                    from, to)) {
+                calendar.add(booking.getId(), toMicros(booking.getStart()), toMicros(booking.getEnd()));
+            }
+        }
+        return calendar.freeSlots(toMicros(from), toMicros(to))
+                .stream()
+                .map(slot -> new FreeSlotDto(fromMicros(slot[0]), fromMicros(slot[1])))
+                .collect(Collectors.toList());
+    }
+
+    private ItemCalendar calendar(Long itemId) {
+        return calendars.get(itemId, this::load);
+    }
+
+    private ItemCalendar load(Long itemId) {
+        final LocalDateTime now = LocalDateTime.now();
+        final ItemCalendar calendar = new ItemCalendar(toMicros(now));
+        for (BookingIntervalView booking : bookingRepository.findIntervalsEndingAfter(itemId, BLOCKING_STATUSES, now)) {
+            calendar.add(booking.getId(), toMicros(booking.getStart()), toMicros(booking.getEnd()));
+        }
+        return calendar;
+    }
+
+    private static long toMicros(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + time.getNano() / 1_000;
+    }
+
+    private static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000),
+                (int) Math.floorMod(micros, 1_000_000) * 1_000, ZoneOffset.UTC);
+    }
+}
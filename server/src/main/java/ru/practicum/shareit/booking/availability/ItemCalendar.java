@@ -0,0 +1,123 @@
+package ru.practicum.shareit.booking.availability;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Интервалы броней предмета. Интервалы, закончившиеся до {@code horizon}, не хранятся: пересечение с ними
+ * календарь не видит, а свободные окна раньше горизонта не строит.
+ */
+public class ItemCalendar {
+    private final long horizon;
+    private long[] ids = new long[8];
+    private long[] starts = new long[8];
+    private long[] ends = new long[8];
+    private long[] maxEnds = new long[8];
+    private int size;
+
+    public ItemCalendar() {
+        this(Long.MIN_VALUE);
+    }
+
+    public ItemCalendar(long horizon) {
+        this.horizon = horizon;
+    }
+
+    public long getHorizon() {
+        return horizon;
+    }
+
+    public synchronized boolean overlaps(long start, long end) {
+        final int before = startsBefore(end);
+        return before > 0 && maxEnds[before - 1] > start;
+    }
+
+    public synchronized void add(long id, long start, long end) {
+        if (end <= horizon) {
+            return;
+        }
+        if (size == ids.length) {
+            final int capacity = size * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            starts = Arrays.copyOf(starts, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+            maxEnds = Arrays.copyOf(maxEnds, capacity);
+        }
+        final int position = startsBefore(start + 1);
+        System.arraycopy(ids, position, ids, position + 1, size - position);
+        System.arraycopy(starts, position, starts, position + 1, size - position);
+        System.arraycopy(ends, position, ends, position + 1, size - position);
+        ids[position] = id;
+        starts[position] = start;
+        ends[position] = end;
+        size++;
+        updateMaxEnds(position);
+    }
+
+    public synchronized void remove(long id) {
+        for (int i = 0; i < size; i++) {
+            if (ids[i] == id) {
+                System.arraycopy(ids, i + 1, ids, i, size - i - 1);
+                System.arraycopy(starts, i + 1, starts, i, size - i - 1);
+                System.arraycopy(ends, i + 1, ends, i, size - i - 1);
+                size--;
+                updateMaxEnds(i);
+                return;
+            }
+        }
+    }
+
+    public synchronized List<long[]> freeSlots(long from, long to) {
+        final List<long[]> result = new ArrayList<>();
+        long free = from;
+        for (int i = firstEndingAfter(from); i < size && starts[i] < to; i++) {
+            if (starts[i] > free) {
+                result.add(new long[]{free, starts[i]});
+            }
+            free = Math.max(free, ends[i]);
+        }
+        if (free < to) {
+            result.add(new long[]{free, to});
+        }
+        return result;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private int startsBefore(long time) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (starts[middle] < time) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private int firstEndingAfter(long time) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (maxEnds[middle] > time) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return low;
+    }
+
+    private void updateMaxEnds(int from) {
+        for (int i = from; i < size; i++) {
+            maxEnds[i] = i == 0 ? ends[i] : Math.max(maxEnds[i - 1], ends[i]);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package ru.practicum.shareit.booking.summary;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingItemView;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Сводка последней и ближайшей подтверждённых броней по предметам. Пересчитывается в транзакции подтверждения
+ * брони и при удалении букера, а когда ближайшая бронь наступает, сводку сдвигает {@link #rollForward()}.
+ * До сдвига такие строки при чтении считаются по броням.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemBookingSummaries {
+    private static final int BATCH = 1_000;
+
+    private final ItemBookingSummaryRepository summaryRepository;
+    private final BookingRepository bookingRepository;
+    private final ItemRepository itemRepository;
+
+    public List<BookingItemView> findLastAndNext(List<Long> itemIds) {
+        final LocalDateTime now = LocalDateTime.now();
+        final List<BookingItemView> bookings = new ArrayList<>();
+        final List<Long> staleItemIds = new ArrayList<>();
+        for (ItemBookingSummary summary : summaryRepository.findAllById(itemIds)) {
+            if (summary.getNextStart() != null && !summary.getNextStart().isAfter(now)) {
+                staleItemIds.add(summary.getItemId());
+                continue;
+            }
+            if (summary.getLastBookingId() != null) {
+                bookings.add(new SummaryBooking(summary.getLastBookingId(), summary.getItemId(),
+                        summary.getLastBookerId(), summary.getLastStart(), summary.getLastEnd(), true));
+            }
+            if (summary.getNextBookingId() != null) {
+                bookings.add(new SummaryBooking(summary.getNextBookingId(), summary.getItemId(),
+                        summary.getNextBookerId(), summary.getNextStart(), summary.getNextEnd(), false));
+            }
+        }
+        if (!staleItemIds.isEmpty()) {
+            bookings.addAll(bookingRepository.findLastAndNextByItemIds(staleItemIds, now));
+        }
+        return bookings;
+    }
+
+    public List<Long> findItemIdsBookedBy(Long bookerId) {
+        return summaryRepository.findItemIdsByBookerId(bookerId);
+    }
+
+    /**
+     * Пересчитывает сводки предметов в текущей транзакции. Предметы блокируются, как при создании брони,
+     * поэтому параллельные подтверждения по одному предмету пересчитывают сводку по очереди.
+     */
+    public void refresh(Collection<Long> itemIds) {
+        if (itemIds.isEmpty()) {
+            return;
+        }
+        final List<Long> lockedIds = itemRepository.findAllByIdForUpdate(new HashSet<>(itemIds))
+                .stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+        if (lockedIds.isEmpty()) {
+            return;
+        }
+        // изменения броней и каскадные удаления должны попасть в базу до пересчёта
+        bookingRepository.flush();
+        final Map<Long, ItemBookingSummary> summaries = summaryRepository.findAllById(lockedIds)
+                .stream()
+                .collect(Collectors.toMap(ItemBookingSummary::getItemId, Function.identity()));
+        final Map<Long, BookingItemView> lastBookings = new HashMap<>();
+        final Map<Long, BookingItemView> nextBookings = new HashMap<>();
+        for (BookingItemView booking : bookingRepository.findLastAndNextByItemIds(lockedIds, LocalDateTime.now())) {
+            if (Boolean.TRUE.equals(booking.getLast())) {
+                lastBookings.put(booking.getItemId(), booking);
+            } else {
+                nextBookings.put(booking.getItemId(), booking);
+            }
+        }
+        for (Long itemId : lockedIds) {
+            final BookingItemView last = lastBookings.get(itemId);
+            final BookingItemView next = nextBookings.get(itemId);
+            final ItemBookingSummary summary = summaries.get(itemId);
+            if (last == null && next == null) {
+                if (summary != null) {
+                    summaryRepository.delete(summary);
+                }
+                continue;
+            }
+            summaryRepository.save(fill(summary == null ? new ItemBookingSummary(itemId) : summary, last, next));
+        }
+    }
+
+    /**
+     * Сдвигает сводки, у которых ближайшая бронь уже началась. За один вызов обрабатывается не больше
+     * {@value #BATCH} предметов, остальные дождутся следующего запуска.
+     */
+    @Transactional
+    public int rollForward() {
+        final List<Long> itemIds = summaryRepository.findItemIdsByNextStartNotAfter(LocalDateTime.now(),
+                PageRequest.of(0, BATCH));
+        refresh(itemIds);
+        if (!itemIds.isEmpty()) {
+            log.info("Сводки броней сдвинуты, предметов : {}", itemIds.size());
+        }
+        return itemIds.size();
+    }
+
+    /**
+     * Пересчитывает сводки всех предметов с подтверждёнными бронями, например после загрузки броней в обход сервиса.
+     */
+    @Transactional
+    public void rebuild() {
+        long lastItemId = 0;
+        List<Long> itemIds;
+        do {
+            itemIds = summaryRepository.findItemIdsWithBookingsAfter(Status.APPROVED, lastItemId,
+                    PageRequest.of(0, BATCH));
+            refresh(itemIds);
+            if (!itemIds.isEmpty()) {
+                lastItemId = itemIds.get(itemIds.size() - 1);
+            }
+        } while (itemIds.size() == BATCH);
+    }
+
+    private static ItemBookingSummary fill(ItemBookingSummary summary, BookingItemView last, BookingItemView next) {
+        summary.setLastBookingId(last == null ? null : last.getId());
+        summary.setLastBookerId(last == null ? null : last.getBookerId());
+        summary.setLastStart(last == null ? null : last.getStart());
+        summary.setLastEnd(last == null ? null : last.getEnd());
+        summary.setNextBookingId(next == null ? null : next.getId());
+        summary.setNextBookerId(next == null ? null : next.getBookerId());
+        summary.setNextStart(next == null ? null : next.getStart());
+        summary.setNextEnd(next == null ? null : next.getEnd());
+        return summary;
+    }
+}
@@ -0,0 +1,63 @@
+package ru.practicum.shareit.booking.summary;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.springframework.data.domain.Persistable;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Последняя и ближайшая подтверждённые брони предмета. Новая строка сохраняется без лишнего select,
+ * которым merge проверял бы заданный вручную id.
+ */
+@Data
+@NoArgsConstructor
+@ToString
+@Entity
+@Table(name = "item_booking_summary")
+public class ItemBookingSummary implements Persistable<Long> {
+    @Id
+    @Column(name = "item_id")
+    private Long itemId;
+    @Column(name = "last_booking_id")
+    private Long lastBookingId;
+    @Column(name = "last_booker_id")
+    private Long lastBookerId;
+    @Column(name = "last_start")
+    private LocalDateTime lastStart;
+    @Column(name = "last_end")
+    private LocalDateTime lastEnd;
+    @Column(name = "next_booking_id")
+    private Long nextBookingId;
+    @Column(name = "next_booker_id")
+    private Long nextBookerId;
+    @Column(name = "next_start")
+    private LocalDateTime nextStart;
+    @Column(name = "next_end")
+    private LocalDateTime nextEnd;
+    @Transient
+    private boolean created;
+
+    public ItemBookingSummary(Long itemId) {
+        this.itemId = itemId;
+        this.created = true;
+    }
+
+    @Override
+    public Long getId() {
+        return itemId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return created;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        created = false;
+    }
+}
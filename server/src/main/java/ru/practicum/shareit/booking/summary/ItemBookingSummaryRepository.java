@@ -0,0 +1,20 @@
+package ru.practicum.shareit.booking.summary;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.booking.Status;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ItemBookingSummaryRepository extends JpaRepository<ItemBookingSummary, Long> {
+    @Query("select s.itemId from ItemBookingSummary s where s.nextStart <= ?1 order by s.nextStart, s.itemId")
+    List<Long> findItemIdsByNextStartNotAfter(LocalDateTime date, PageRequest pageRequest);
+
+    @Query("select s.itemId from ItemBookingSummary s where s.lastBookerId = ?1 or s.nextBookerId = ?1")
+    List<Long> findItemIdsByBookerId(Long bookerId);
+
+    @Query("select distinct b.item.id from Booking b where b.status = ?1 and b.item.id > ?2 order by b.item.id")
+    List<Long> findItemIdsWithBookingsAfter(Status status, Long itemId, PageRequest pageRequest);
+}
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.booking.summary;
+
+import lombok.Value;
+import ru.practicum.shareit.booking.BookingItemView;
+
+import java.time.LocalDateTime;
+
+@Value
+class SummaryBooking implements BookingItemView {
+    Long id;
+    Long itemId;
+    Long bookerId;
+    LocalDateTime start;
+    LocalDateTime end;
+    Boolean last;
+}
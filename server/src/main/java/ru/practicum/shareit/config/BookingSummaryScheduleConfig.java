@@ -0,0 +1,25 @@
+package ru.practicum.shareit.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import ru.practicum.shareit.booking.summary.ItemBookingSummaries;
+
+/**
+ * Периодический сдвиг сводок броней предметов, у которых ближайшая бронь уже началась.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "shareit.booking-summary.roll-forward.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class BookingSummaryScheduleConfig {
+    private final ItemBookingSummaries itemBookingSummaries;
+
+    @Scheduled(initialDelayString = "${shareit.booking-summary.roll-forward.delay-ms:60000}",
+            fixedDelayString = "${shareit.booking-summary.roll-forward.delay-ms:60000}")
+    public void rollForwardBookingSummaries() {
+        itemBookingSummaries.rollForward();
+    }
+}
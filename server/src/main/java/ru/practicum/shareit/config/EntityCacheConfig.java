@@ -0,0 +1,65 @@
+package ru.practicum.shareit.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.jcache.MissingCacheStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.user.User;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Кэш второго уровня Hibernate для редко меняющихся пользователей и предметов. Регионы создаются здесь, у каждого
+ * контекста свой менеджер кэшей, чтобы контексты с разными базами не видели чужих сущностей.
+ */
+@Configuration
+@ConditionalOnProperty(name = "shareit.entity-cache.enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(EntityCacheProperties.class)
+public class EntityCacheConfig {
+    private static final List<Class<?>> CACHED_ENTITIES = List.of(User.class, Item.class);
+
+    @Bean(destroyMethod = "close")
+    public CacheManager entityCacheManager(EntityCacheProperties properties) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(URI.create("shareit-entities:" + UUID.randomUUID()),
+                getClass().getClassLoader());
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(properties.getMaxSize()));
+        configuration.setExpireAfterWrite(OptionalLong.of(properties.getTtl().toNanos()));
+        configuration.setStoreByValue(false);
+        configuration.setStatisticsEnabled(true);
+        CACHED_ENTITIES.forEach(entity -> cacheManager.createCache(entity.getName(), configuration));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheCustomizer(CacheManager entityCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, MissingCacheStrategy.FAIL.getExternalRepresentation());
+        };
+    }
+
+    @Bean
+    public MeterBinder entityCacheMetrics(CacheManager entityCacheManager) {
+        return registry -> CACHED_ENTITIES.forEach(entity ->
+                JCacheMetrics.monitor(registry, entityCacheManager.getCache(entity.getName())));
+    }
+}
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.entity-cache")
+public class EntityCacheProperties {
+    /**
+     * Максимальное число сущностей одного типа в кэше второго уровня.
+     */
+    private long maxSize = 10_000;
+    /**
+     * Время жизни сущности в кэше второго уровня.
+     */
+    private Duration ttl = Duration.ofMinutes(10);
+}
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Потоковые выгрузки ({@code StreamingResponseBody}) пишутся на отдельном ограниченном пуле, а не на общем
+ * {@code applicationTaskExecutor}. Пул не объявлен бином, чтобы не вытеснить автоконфигурацию общего исполнителя.
+ * Время ожидания асинхронного ответа задаёт {@code spring.mvc.async.request-timeout}.
+ */
+@Configuration
+@EnableConfigurationProperties(StreamingProperties.class)
+public class StreamingConfig implements WebMvcConfigurer, DisposableBean {
+    private final ThreadPoolTaskExecutor streamingExecutor = new ThreadPoolTaskExecutor();
+
+    public StreamingConfig(StreamingProperties properties) {
+        streamingExecutor.setCorePoolSize(properties.getPoolSize());
+        streamingExecutor.setMaxPoolSize(properties.getPoolSize());
+        streamingExecutor.setQueueCapacity(properties.getQueueCapacity());
+        streamingExecutor.setThreadNamePrefix("streaming-");
+        streamingExecutor.initialize();
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(streamingExecutor);
+    }
+
+    @Override
+    public void destroy() {
+        streamingExecutor.shutdown();
+    }
+}
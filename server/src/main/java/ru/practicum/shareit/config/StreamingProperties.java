@@ -0,0 +1,19 @@
+package ru.practicum.shareit.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.streaming")
+public class StreamingProperties {
+    /**
+     * Число потоков, одновременно пишущих потоковые выгрузки.
+     */
+    private int poolSize = 4;
+    /**
+     * Число выгрузок, ожидающих свободного потока. Сверх этого выгрузка отклоняется с 503.
+     */
+    private int queueCapacity = 16;
+}
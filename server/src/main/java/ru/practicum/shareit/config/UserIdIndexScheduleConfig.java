@@ -0,0 +1,26 @@
+package ru.practicum.shareit.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import ru.practicum.shareit.user.UserIdIndex;
+
+/**
+ * Периодическое перестроение индекса id пользователей: подхватывает пользователей, созданных и удалённых
+ * в обход этого процесса.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "shareit.user-index.rebuild.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class UserIdIndexScheduleConfig {
+    private final UserIdIndex userIdIndex;
+
+    @Scheduled(initialDelayString = "${shareit.user-index.rebuild.delay-ms:600000}",
+            fixedDelayString = "${shareit.user-index.rebuild.delay-ms:600000}")
+    public void rebuildUserIdIndex() {
+        userIdIndex.rebuild();
+    }
+}
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
@@ -24,6 +25,13 @@ public class ExceptionHandlers {
         return new ErrorException(System.currentTimeMillis(), notFoundException.getMessage());
     }
 
+    @ExceptionHandler
+    @ResponseStatus(value = HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorException exceptionHandler(TaskRejectedException taskRejectedException) {
+        log.warn("Очередь потоковых выгрузок заполнена: {}", taskRejectedException.getMessage());
+        return new ErrorException(System.currentTimeMillis(), "Слишком много выгрузок, повторите запрос позже.");
+    }
+
     @ExceptionHandler
     @ResponseStatus(value = HttpStatus.INTERNAL_SERVER_ERROR)
     public ErrorException handleThrowable(final Throwable e) {
@@ -4,10 +4,15 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.booking.FreeSlotDto;
 import ru.practicum.shareit.item.comment.CommentDto;
 import ru.practicum.shareit.item.comment.CommentDtoResponse;
+import ru.practicum.shareit.util.PageCursor;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static ru.practicum.shareit.util.Constants.*;
@@ -28,6 +33,14 @@ public class ItemController {
         return createItem;
     }
 
+    @PostMapping("/batch")
+    public List<ItemDto> createAll(@RequestBody List<ItemDto> inputItemDtos,
+                                   @RequestHeader(X_SHARER) Long owner) {
+        List<ItemDto> createItems = itemService.createAll(inputItemDtos, owner);
+        log.debug("Пакетное добавление {} предметов пользователем: {}", createItems.size(), owner);
+        return createItems;
+    }
+
     @PatchMapping("/{itemId}")
     public ItemDto update(@RequestBody ItemDto inputItemDto,
                           @RequestHeader(X_SHARER) Long owner,
@@ -46,26 +59,50 @@ public class ItemController {
     }
 
     @GetMapping
-    public List<ItemDtoBooking> findAllItems(@RequestHeader(X_SHARER) Long owner,
-                                             @RequestParam(value = FROM, defaultValue = "0") Integer from,
-                                             @RequestParam(value = SIZE, defaultValue = "10") Integer size) {
-        Sort sort = Sort.by(Sort.Direction.ASC, "id");
-        PageRequest page = PageRequest.of(from > 0 ? from / size : 0, size, sort);
-        List<ItemDtoBooking> allItems = itemService.findAllItemsOwner(owner, page);
+    public ResponseEntity<List<ItemDtoBooking>> findAllItems(@RequestHeader(X_SHARER) Long owner,
+                                                             @RequestParam(value = FROM, defaultValue = "0") Integer from,
+                                                             @RequestParam(value = SIZE, defaultValue = "10") Integer size,
+                                                             @RequestParam(value = CURSOR, required = false) String cursor) {
+        List<ItemDtoBooking> allItems;
+        if (cursor != null && !cursor.isBlank()) {
+            allItems = itemService.findAllItemsOwner(owner, PageCursor.decode(cursor), size);
+        } else {
+            Sort sort = Sort.by(Sort.Direction.ASC, "id");
+            PageRequest page = PageRequest.of(from > 0 ? from / size : 0, size, sort);
+            allItems = itemService.findAllItemsOwner(owner, page);
+        }
         log.debug("Получение списка всех предметов");
-        return allItems;
+        return PageCursor.toResponse(allItems, size, item -> PageCursor.of(item.getId()));
     }
 
     @GetMapping("/search")
-    public List<ItemDto> searchItem(@RequestHeader(X_SHARER) Long userId,
-                                    @RequestParam(value = "text") String text,
-                                    @RequestParam(value = FROM, defaultValue = "0") Integer from,
-                                    @RequestParam(value = SIZE, defaultValue = "10") Integer size) {
-
-            PageRequest page = PageRequest.of(from > 0 ? from / size : 0, size);
-            List<ItemDto> itemDtoList = itemService.searchItem(userId, text, page);
+    public ResponseEntity<List<ItemDto>> searchItem(@RequestHeader(X_SHARER) Long userId,
+                                                    @RequestParam(value = "text") String text,
+                                                    @RequestParam(value = FROM, defaultValue = "0") Integer from,
+                                                    @RequestParam(value = SIZE, defaultValue = "10") Integer size,
+                                                    @RequestParam(value = CURSOR, required = false) String cursor) {
+            List<ItemDto> itemDtoList;
+            if (cursor != null && !cursor.isBlank()) {
+                itemDtoList = itemService.searchItem(userId, text, PageCursor.decodeRanked(cursor), size);
+            } else {
+                PageRequest page = PageRequest.of(from > 0 ? from / size : 0, size);
+                itemDtoList = itemService.searchItem(userId, text, page);
+            }
             log.debug("Поиск необходимого предмета");
-            return itemDtoList;
+            return PageCursor.toResponse(itemDtoList, size,
+                    item -> PageCursor.ranked(SearchRank.of(item.getName(), text), item.getId()));
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public List<FreeSlotDto> findFreeSlots(@RequestHeader(X_SHARER) Long userId,
+                                           @PathVariable Long itemId,
+                                           @RequestParam(value = "start")
+                                           @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+                                           @RequestParam(value = "end")
+                                           @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
+        List<FreeSlotDto> freeSlots = itemService.findFreeSlots(userId, itemId, start, end);
+        log.debug("Получение свободных интервалов предмета с id : {}", itemId);
+        return freeSlots;
     }
 
     @PostMapping("/{itemId}/comment")
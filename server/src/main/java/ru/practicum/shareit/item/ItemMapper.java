@@ -1,5 +1,8 @@
 package ru.practicum.shareit.item;
 
+import org.hibernate.Hibernate;
+import ru.practicum.shareit.user.User;
+
 public class ItemMapper {
     public static Item dtoInItem(ItemDto itemDto) {
         Item item = new Item();
@@ -16,7 +19,7 @@ public class ItemMapper {
                 item.getName(),
                 item.getDescription(),
                 item.getIsAvailable(),
-                item.getOwner(),
+                owner(item),
                 item.getRequest() != null ? item.getRequest().getId() : null
         );
     }
@@ -27,7 +30,12 @@ public class ItemMapper {
                 item.getName(),
                 item.getDescription(),
                 item.getIsAvailable(),
-                item.getOwner(),
+                owner(item),
                 item.getRequest() != null ? item.getRequest().getId() : null);
     }
+
+    private static User owner(Item item) {
+        // владелец попадает в ответ целиком, поэтому вместо ленивого прокси отдаётся сама сущность
+        return (User) Hibernate.unproxy(item.getOwner());
+    }
 }
@@ -1,25 +1,75 @@
 package ru.practicum.shareit.item;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.item.search.ItemSearchView;
 
+import javax.persistence.LockModeType;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
     List<Item> findAllByOwnerId(Long ownerId);
 
-    @Query(" select i from Item i " +
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Item i where i.id = ?1")
+    Optional<Item> findByIdForUpdate(Long itemId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Item i where i.id in ?1 order by i.id")
+    List<Item> findAllByIdForUpdate(Collection<Long> itemIds);
+
+    String SEARCH_RANK = "case when lower(i.name) = ?1 then 0 " +
+            "when lower(i.name) like concat(?1, '%') then 1 " +
+            "when lower(i.name) like concat('%', ?1, '%') then 2 " +
+            "else 3 end";
+
+    @Query(" select i from Item i join fetch i.owner " +
+            "where i.isAvailable = true and" +
+            " (lower(i.name) like concat('%', ?1, '%') " +
+            "  or lower(i.description) like concat('%', ?1, '%')) and " +
+            "exists (select u.id from User u where u.id = ?2)" +
+            " order by " + SEARCH_RANK + ", i.id")
+    List<Item> search(String text, Long userId, Pageable page);
+
+    @Query(" select i from Item i join fetch i.owner " +
             "where i.isAvailable = true and" +
-            " (upper(i.name) like upper(concat('%', ?1, '%')) " +
-            "  or upper(i.description) like upper(concat('%', ?1, '%')))")
-    Page<Item> search(String text,String textDescription, PageRequest page);
+            " (lower(i.name) like concat('%', ?1, '%') " +
+            "  or lower(i.description) like concat('%', ?1, '%')) and" +
+            " (" + SEARCH_RANK + " > ?2 or (" + SEARCH_RANK + " = ?2 and i.id > ?3)) and " +
+            "exists (select u.id from User u where u.id = ?4)" +
+            " order by " + SEARCH_RANK + ", i.id")
+    List<Item> searchAfter(String text, Integer rank, Long itemId, Long userId, Pageable page);
 
-    List<Item> findAllByRequestIdIn(List<Long> listRequestIds);
+    @Query("select new ru.practicum.shareit.item.ItemDto(i.id, i.name, i.description, i.isAvailable, o, i.request.id) " +
+            "from Item i join i.owner o where i.request.id in ?1")
+    List<ItemDto> findAllByRequestIdIn(Collection<Long> listRequestIds);
 
+    @Query("select i from Item i join fetch i.owner where i.request.id = ?1")
     List<Item> findAllByRequestId(Long requestId);
 
-    Page<Item> findAllByOwnerId(Long ownerId, PageRequest page);
+    @Query("select i from Item i join fetch i.owner where i.id in ?1 and " +
+            "exists (select u.id from User u where u.id = ?2)")
+    List<Item> findAllWithOwnerByIdIn(Collection<Long> itemIds, Long userId);
+
+    @Query("select i from Item i join fetch i.owner o where o.id = ?1")
+    List<Item> findAllByOwnerId(Long ownerId, PageRequest page);
+
+    @Query("select i from Item i join fetch i.owner o where o.id = ?1 and i.id > ?2 order by i.id")
+    List<Item> findAllByOwnerIdAfter(Long ownerId, Long itemId, Pageable page);
+
+    @Query("select i.id as id, i.name as name, i.description as description, i.isAvailable as available " +
+            "from Item i where i.id > ?1 order by i.id")
+    List<ItemSearchView> findSearchBatch(Long itemId, Pageable page);
+
+    @Query("select i.id from Item i where i.owner.id = ?1")
+    List<Long> findIdsByOwnerId(Long ownerId);
+
+    @Query("select i.id from Item i where i.id in ?1")
+    List<Long> findIdsByIdIn(Collection<Long> itemIds);
 }
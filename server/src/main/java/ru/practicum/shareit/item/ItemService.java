@@ -1,9 +1,12 @@
 package ru.practicum.shareit.item;
 
 import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.booking.FreeSlotDto;
 import ru.practicum.shareit.item.comment.CommentDto;
 import ru.practicum.shareit.item.comment.CommentDtoResponse;
+import ru.practicum.shareit.util.PageCursor;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
@@ -11,12 +14,20 @@ public interface ItemService {
 
     ItemDto create(ItemDto inputItemDto, Long ownerId);
 
+    List<ItemDto> createAll(List<ItemDto> inputItemDtos, Long ownerId);
+
     ItemDtoBooking findItemById(Long itemId, Long userId);
 
     List<ItemDtoBooking> findAllItemsOwner(Long ownerId, PageRequest page);
 
     List<ItemDto> searchItem(Long userId, String text, PageRequest page);
 
+    List<ItemDtoBooking> findAllItemsOwner(Long ownerId, PageCursor cursor, int size);
+
+    List<ItemDto> searchItem(Long userId, String text, PageCursor cursor, int size);
+
+    List<FreeSlotDto> findFreeSlots(Long userId, Long itemId, LocalDateTime start, LocalDateTime end);
+
     CommentDtoResponse createComment(Long userId, CommentDto commentDto, Long itemId);
 }
 
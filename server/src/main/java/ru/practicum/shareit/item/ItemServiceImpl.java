@@ -5,15 +5,21 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingItemView;
 import ru.practicum.shareit.booking.BookingRepository;
-import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.FreeSlotDto;
+import ru.practicum.shareit.booking.availability.ItemAvailability;
+import ru.practicum.shareit.booking.summary.ItemBookingSummaries;
 import ru.practicum.shareit.exception.NotFoundEntityExeption;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.comment.*;
+import ru.practicum.shareit.item.search.ItemSearch;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserIdIndex;
 import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.util.PageCursor;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -34,11 +40,15 @@ public class ItemServiceImpl implements ItemService {
     private final CommentRepository commentRepository;
 
     private final ItemRequestRepository itemRequestRepository;
+    private final ItemSearch itemSearch;
+    private final ItemAvailability itemAvailability;
+    private final UserIdIndex userIdIndex;
+    private final ItemBookingSummaries itemBookingSummaries;
 
     @Transactional
     @Override
     public ItemDto update(ItemDto inputItemDto, Long ownerId, Long itemId) {
-        if (!userRepository.existsById(ownerId)) {
+        if (!userIdIndex.exists(ownerId)) {
             throw new NotFoundException("Пользователь с id : " + ownerId + " не найден.");
         }
         final Item oldItem = itemRepository.findById(itemId)
@@ -56,6 +66,7 @@ public class ItemServiceImpl implements ItemService {
             oldItem.setIsAvailable(inputItemDto.getAvailable());
         }
         Item item = itemRepository.save(oldItem);
+        itemSearch.index(item);
         return itemInDto(item);
     }
 
@@ -72,66 +83,118 @@ public class ItemServiceImpl implements ItemService {
                     .orElseThrow(() -> new NotFoundException("Запрос на бронирование вещи не найден."));
             newItem.setRequest(itemRequest);
         }
-        return itemInDto(itemRepository.save(newItem));
+        final Item item = itemRepository.save(newItem);
+        itemSearch.index(item);
+        return itemInDto(item);
     }
 
+    @Transactional
     @Override
-    public ItemDtoBooking findItemById(Long itemId, Long userId) {
-        if (!userRepository.existsById(userId)) {
-            throw new NotFoundException("Пользователь с id : " + userId + " не найден.");
+    public List<ItemDto> createAll(List<ItemDto> inputItemDtos, Long ownerId) {
+        final User owner = userRepository.findById(ownerId)
+                .orElseThrow(() -> new NotFoundException("Пользователь с id : " + ownerId + " не найден."));
+        final Set<Long> requestIds = inputItemDtos.stream()
+                .map(ItemDto::getRequestId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        final Map<Long, ItemRequest> requests = itemRequestRepository.findAllById(requestIds)
+                .stream()
+                .collect(Collectors.toMap(ItemRequest::getId, request -> request));
+        final List<Item> newItems = new ArrayList<>(inputItemDtos.size());
+        for (ItemDto inputItemDto : inputItemDtos) {
+            final Item newItem = dtoInItem(inputItemDto);
+            newItem.setOwner(owner);
+            final Long requestId = inputItemDto.getRequestId();
+            if (requestId != null) {
+                final ItemRequest itemRequest = requests.get(requestId);
+                if (itemRequest == null) {
+                    throw new NotFoundException("Запрос на бронирование вещи не найден.");
+                }
+                newItem.setRequest(itemRequest);
+            }
+            newItems.add(newItem);
         }
+        final List<Item> items = itemRepository.saveAll(newItems);
+        items.forEach(itemSearch::index);
+        return items.stream()
+                .map(ItemMapper::itemInDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public ItemDtoBooking findItemById(Long itemId, Long userId) {
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new NotFoundException("Предмет с id : " + itemId + " не найден."));
-        ;
-        final List<CommentDtoResponse> comments = commentRepository.findAllByItemId(itemId)
+        final Long id = item.getOwner().getId();
+        // владелец существует по внешнему ключу предмета, проверять нужно только чужого пользователя
+        if (!Objects.equals(userId, id) && !userIdIndex.exists(userId)) {
+            throw new NotFoundException("Пользователь с id : " + userId + " не найден.");
+        }
+        final List<CommentDtoResponse> comments = commentRepository.findAllByItemIdIn(List.of(itemId))
                 .stream()
                 .map(CommentMapper::toCommentDtoResponse)
                 .collect(Collectors.toList());
         final ItemDtoBooking itemDtoBooking = toItemDtoBooking(item);
         itemDtoBooking.setComments(comments);
-        final Long id = item.getOwner().getId();
         if (Objects.equals(userId, id)) {
-            final List<Booking> bookingList = bookingRepository.findByItem_IdAndStatusIs(itemId, Status.APPROVED);
-            return setDateBookings(itemDtoBooking, bookingList);
+            setDateBookings(List.of(itemDtoBooking), itemBookingSummaries.findLastAndNext(List.of(itemId)));
         }
         return itemDtoBooking;
     }
 
     @Override
     public List<ItemDtoBooking> findAllItemsOwner(Long id, PageRequest page) {
-        if (!userRepository.existsById(id)) {
-            throw new NotFoundException("Пользователь с id : " + id + " не найден.");
-        }
-        final List<ItemDtoBooking> list = itemRepository.findAllByOwnerId(id, page)
+        final List<ItemDtoBooking> list = checkUserIfEmpty(itemRepository.findAllByOwnerId(id, page), id)
                 .stream()
                 .map(ItemMapper::toItemDtoBooking)
                 .collect(Collectors.toList());
-        final List<Long> itemsId = list
+        return addBookingsAndComments(list);
+    }
+
+    @Override
+    public List<ItemDtoBooking> findAllItemsOwner(Long id, PageCursor cursor, int size) {
+        final List<ItemDtoBooking> list = checkUserIfEmpty(itemRepository.findAllByOwnerIdAfter(id, cursor.getId(),
+                PageRequest.of(0, size)), id)
                 .stream()
-                .map(ItemDtoBooking::getId)
+                .map(ItemMapper::toItemDtoBooking)
                 .collect(Collectors.toList());
-        final List<Comment> comments = commentRepository.findAll();
-        final List<Booking> bookingList = bookingRepository.findAllByItem_IdInAndStatusIs(itemsId, Status.APPROVED);
-        return list
+        return addBookingsAndComments(list);
+    }
+
+    @Override
+    public List<ItemDto> searchItem(Long userId, String text, PageRequest page) {
+        if (text == null || text.isBlank())
+            return Collections.emptyList();
+        return checkUserIfEmpty(itemSearch.search(text, userId, page), userId)
                 .stream()
-                .map(itemsDto -> setDateBookings(itemsDto, bookingList))
-                .map(itemDto -> addCommentsInItem(itemDto, comments))
+                .map(ItemMapper::itemInDto)
                 .collect(Collectors.toList());
     }
 
     @Override
-    public List<ItemDto> searchItem(Long userId, String text, PageRequest page) {
+    public List<ItemDto> searchItem(Long userId, String text, PageCursor cursor, int size) {
         if (text == null || text.isBlank())
             return Collections.emptyList();
-        if (!userRepository.existsById(userId)) {
-            throw new NotFoundException("Пользователь с id : " + userId + " не найден.");
-        }
-        return itemRepository.search(text, text, page)
+        return checkUserIfEmpty(itemSearch.searchAfter(text, userId, cursor, size), userId)
                 .stream()
                 .map(ItemMapper::itemInDto)
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<FreeSlotDto> findFreeSlots(Long userId, Long itemId, LocalDateTime start, LocalDateTime end) {
+        if (!end.isAfter(start)) {
+            throw new NotFoundEntityExeption("Ошибка диапазона дат.");
+        }
+        if (!userIdIndex.exists(userId)) {
+            throw new NotFoundException("Пользователь с id : " + userId + " не найден.");
+        }
+        if (!itemRepository.existsById(itemId)) {
+            throw new NotFoundException("Предмет с id : " + itemId + " не найден.");
+        }
+        return itemAvailability.findFreeSlots(itemId, start, end);
+    }
+
     @Transactional
     @Override
     public CommentDtoResponse createComment(Long userId, CommentDto commentDto, Long itemId) {
@@ -153,35 +216,49 @@ public class ItemServiceImpl implements ItemService {
         return toCommentDtoResponse(comment);
     }
 
-    private ItemDtoBooking addCommentsInItem(ItemDtoBooking item, List<Comment> comments) {
-        List<CommentDtoResponse> commentDtoList = comments
-                .stream()
-                .filter(c -> c.getItem().getId().equals(item.getId()))
-                .map(CommentMapper::toCommentDtoResponse)
-                .collect(Collectors.toList());
-        item.setComments(commentDtoList);
-        return item;
+    /**
+     * Непустой результат уже подтверждает пользователя: предметы ссылаются на владельца внешним ключом, а поиск
+     * проверяет пользователя в том же запросе. Отдельная проверка нужна только для пустого результата.
+     */
+    private List<Item> checkUserIfEmpty(List<Item> items, Long userId) {
+        if (items.isEmpty() && !userIdIndex.exists(userId)) {
+            throw new NotFoundException("Пользователь с id : " + userId + " не найден.");
+        }
+        return items;
     }
 
-    private ItemDtoBooking setDateBookings(ItemDtoBooking itemsDto, List<Booking> bookingList) {
-        final LocalDateTime time = LocalDateTime.now();
-        Optional<Booking> bookingLast = bookingList
+    private List<ItemDtoBooking> addBookingsAndComments(List<ItemDtoBooking> list) {
+        final List<Long> itemsId = list
                 .stream()
-                .filter(booking -> Objects.equals(booking.getItem().getId(), itemsDto.getId()))
-                .sorted(Comparator.comparing(Booking::getEnd).reversed())
-                .filter(booking -> booking.getStart().isBefore(time))
-                .limit(1)
-                .findAny();
-        bookingLast.ifPresent(booking -> itemsDto.setLastBooking(toBookingItemDto(booking)));
-
-        Optional<Booking> bookingNext = bookingList
+                .map(ItemDtoBooking::getId)
+                .collect(Collectors.toList());
+        if (itemsId.isEmpty()) {
+            return list;
+        }
+        setDateBookings(list, itemBookingSummaries.findLastAndNext(itemsId));
+        final Map<Long, List<CommentDtoResponse>> comments = commentRepository.findAllByItemIdIn(itemsId)
                 .stream()
-                .filter(booking -> Objects.equals(booking.getItem().getId(), itemsDto.getId()))
-                .sorted(Comparator.comparing(Booking::getStart))
-                .filter(booking -> booking.getStart().isAfter(time))
-                .limit(1)
-                .findAny();
-        bookingNext.ifPresent(booking -> itemsDto.setNextBooking(toBookingItemDto(booking)));
-        return itemsDto;
+                .collect(Collectors.groupingBy(CommentItemDto::getItemId,
+                        Collectors.mapping(CommentMapper::toCommentDtoResponse, Collectors.toList())));
+        list.forEach(itemDto -> itemDto.setComments(comments.getOrDefault(itemDto.getId(), Collections.emptyList())));
+        return list;
+    }
+
+    private void setDateBookings(List<ItemDtoBooking> items, List<BookingItemView> bookingList) {
+        final Map<Long, BookingItemView> lastBookings = new HashMap<>();
+        final Map<Long, BookingItemView> nextBookings = new HashMap<>();
+        for (BookingItemView booking : bookingList) {
+            if (Boolean.TRUE.equals(booking.getLast())) {
+                lastBookings.put(booking.getItemId(), booking);
+            } else {
+                nextBookings.put(booking.getItemId(), booking);
+            }
+        }
+        for (ItemDtoBooking itemsDto : items) {
+            Optional.ofNullable(lastBookings.get(itemsDto.getId()))
+                    .ifPresent(booking -> itemsDto.setLastBooking(toBookingItemDto(booking)));
+            Optional.ofNullable(nextBookings.get(itemsDto.getId()))
+                    .ifPresent(booking -> itemsDto.setNextBooking(toBookingItemDto(booking)));
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,32 @@
+package ru.practicum.shareit.item;
+
+import java.util.Locale;
+
+public final class SearchRank {
+    public static final int EXACT_NAME = 0;
+    public static final int NAME_PREFIX = 1;
+    public static final int NAME_CONTAINS = 2;
+    public static final int DESCRIPTION = 3;
+
+    private SearchRank() {
+    }
+
+    public static String normalize(String text) {
+        return text.toLowerCase(Locale.ROOT);
+    }
+
+    public static int of(String name, String text) {
+        final String itemName = normalize(name);
+        final String query = normalize(text);
+        if (itemName.equals(query)) {
+            return EXACT_NAME;
+        }
+        if (itemName.startsWith(query)) {
+            return NAME_PREFIX;
+        }
+        if (itemName.contains(query)) {
+            return NAME_CONTAINS;
+        }
+        return DESCRIPTION;
+    }
+}
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.item.comment;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+@ToString
+public class CommentItemDto {
+    private final Long itemId;
+    private final Long id;
+    private final String text;
+    private final String authorName;
+    private final LocalDateTime created;
+}
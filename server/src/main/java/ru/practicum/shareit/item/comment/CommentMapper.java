@@ -15,4 +15,13 @@ public class CommentMapper {
         responseDto.setCreated(comment.getCreated());
         return responseDto;
     }
+
+    public static CommentDtoResponse toCommentDtoResponse(CommentItemDto comment) {
+        CommentDtoResponse responseDto = new CommentDtoResponse();
+        responseDto.setId(comment.getId());
+        responseDto.setText(comment.getText());
+        responseDto.setAuthorName(comment.getAuthorName());
+        responseDto.setCreated(comment.getCreated());
+        return responseDto;
+    }
 }
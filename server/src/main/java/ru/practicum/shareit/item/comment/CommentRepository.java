@@ -1,9 +1,16 @@
 package ru.practicum.shareit.item.comment;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
     List<Comment> findAllByItemId(Long itemId);
+
+    @Query("select new ru.practicum.shareit.item.comment.CommentItemDto(c.item.id, c.id, c.text, a.name, c.created) " +
+            "from Comment c join c.author a " +
+            "where c.item.id in ?1 " +
+            "order by c.created, c.id")
+    List<CommentItemDto> findAllByItemIdIn(List<Long> itemIds);
 }
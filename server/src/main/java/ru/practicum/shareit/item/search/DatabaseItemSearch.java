@@ -0,0 +1,39 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.SearchRank;
+import ru.practicum.shareit.util.PageCursor;
+
+import java.util.Collection;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "database", matchIfMissing = true)
+public class DatabaseItemSearch implements ItemSearch {
+    private final ItemRepository itemRepository;
+
+    @Override
+    public List<Item> search(String text, Long userId, PageRequest page) {
+        return itemRepository.search(SearchRank.normalize(text), userId, page);
+    }
+
+    @Override
+    public List<Item> searchAfter(String text, Long userId, PageCursor cursor, int size) {
+        return itemRepository.searchAfter(SearchRank.normalize(text), cursor.getRank(), cursor.getId(), userId,
+                PageRequest.of(0, size));
+    }
+
+    @Override
+    public void index(Item item) {
+    }
+
+    @Override
+    public void remove(Collection<Long> itemIds) {
+    }
+}
@@ -0,0 +1,26 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.util.PageCursor;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Поиск от имени пользователя userId: его существование проверяется тем же запросом, что загружает предметы.
+ * Пустой результат означает, что совпадений нет или пользователя нет.
+ */
+public interface ItemSearch {
+    List<Item> search(String text, Long userId, PageRequest page);
+
+    List<Item> searchAfter(String text, Long userId, PageCursor cursor, int size);
+
+    void index(Item item);
+
+    /**
+     * Убирает предметы из поиска после фиксации транзакции, например предметы удаляемого владельца,
+     * которые база удалит каскадно.
+     */
+    void remove(Collection<Long> itemIds);
+}
@@ -0,0 +1,258 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.SearchRank;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class ItemSearchIndex {
+    private static final int GRAM = 3;
+    private static final int RANKS = SearchRank.DESCRIPTION + 1;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private final BitSet available = new BitSet();
+    private long[] ids = new long[1024];
+    private String[] names = new String[1024];
+    private String[] descriptions = new String[1024];
+    private int size;
+    private boolean idOrdered = true;
+
+    public void put(long id, String name, String description, boolean isAvailable) {
+        final String newName = SearchRank.normalize(name);
+        final String newDescription = SearchRank.normalize(description);
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.get(id);
+            final Set<Long> oldGrams;
+            if (ordinal == null) {
+                ordinal = append(id);
+                oldGrams = Set.of();
+            } else {
+                oldGrams = grams(names[ordinal], descriptions[ordinal]);
+            }
+            final Set<Long> newGrams = grams(newName, newDescription);
+            for (Long gram : oldGrams) {
+                if (!newGrams.contains(gram)) {
+                    final Postings list = postings.get(gram);
+                    list.remove(ordinal);
+                    if (list.size == 0) {
+                        postings.remove(gram);
+                    }
+                }
+            }
+            for (Long gram : newGrams) {
+                if (!oldGrams.contains(gram)) {
+                    postings.computeIfAbsent(gram, g -> new Postings()).add(ordinal);
+                }
+            }
+            names[ordinal] = newName;
+            descriptions[ordinal] = newDescription;
+            available.set(ordinal, isAvailable);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            final Integer ordinal = ordinals.get(id);
+            if (ordinal == null) {
+                return;
+            }
+            for (Long gram : grams(names[ordinal], descriptions[ordinal])) {
+                final Postings list = postings.get(gram);
+                list.remove(ordinal);
+                if (list.size == 0) {
+                    postings.remove(gram);
+                }
+            }
+            names[ordinal] = "";
+            descriptions[ordinal] = "";
+            available.clear(ordinal);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Long> search(String text, int offset, int limit) {
+        return search(text, SearchRank.EXACT_NAME, -1, offset, limit);
+    }
+
+    public List<Long> searchAfter(String text, int rank, long afterId, int limit) {
+        return search(text, rank, afterId, 0, limit);
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Long> search(String text, int fromRank, long afterId, int offset, int limit) {
+        final String query = SearchRank.normalize(text);
+        lock.readLock().lock();
+        try {
+            final Postings[] ranked = new Postings[RANKS];
+            for (int i = 0; i < RANKS; i++) {
+                ranked[i] = new Postings();
+            }
+            final Postings candidates = candidates(query);
+            for (int i = 0; i < candidates.size; i++) {
+                final int ordinal = candidates.values[i];
+                if (!available.get(ordinal)) {
+                    continue;
+                }
+                final String name = names[ordinal];
+                if (name.contains(query)) {
+                    ranked[SearchRank.of(name, query)].append(ordinal);
+                } else if (descriptions[ordinal].contains(query)) {
+                    ranked[SearchRank.DESCRIPTION].append(ordinal);
+                }
+            }
+            final List<Long> result = new ArrayList<>(Math.min(limit, 64));
+            int skipped = 0;
+            for (int rank = fromRank; rank < RANKS && result.size() < limit; rank++) {
+                final long[] bucket = idsOf(ranked[rank]);
+                for (int i = 0; i < bucket.length && result.size() < limit; i++) {
+                    if (rank == fromRank && bucket[i] <= afterId) {
+                        continue;
+                    }
+                    if (skipped < offset) {
+                        skipped++;
+                        continue;
+                    }
+                    result.add(bucket[i]);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Postings candidates(String query) {
+        if (query.length() < GRAM) {
+            final Postings all = new Postings();
+            for (int i = 0; i < size; i++) {
+                all.append(i);
+            }
+            return all;
+        }
+        final List<Postings> lists = new ArrayList<>();
+        for (Long gram : grams(query, "")) {
+            final Postings list = postings.get(gram);
+            if (list == null) {
+                return new Postings();
+            }
+            lists.add(list);
+        }
+        lists.sort((a, b) -> Integer.compare(a.size, b.size));
+        final Postings smallest = lists.get(0);
+        final Postings result = new Postings();
+        for (int i = 0; i < smallest.size; i++) {
+            final int ordinal = smallest.values[i];
+            boolean everywhere = true;
+            for (int j = 1; j < lists.size() && everywhere; j++) {
+                everywhere = lists.get(j).contains(ordinal);
+            }
+            if (everywhere) {
+                result.append(ordinal);
+            }
+        }
+        return result;
+    }
+
+    private long[] idsOf(Postings ordinalsOfRank) {
+        final long[] result = new long[ordinalsOfRank.size];
+        for (int i = 0; i < ordinalsOfRank.size; i++) {
+            result[i] = ids[ordinalsOfRank.values[i]];
+        }
+        if (!idOrdered) {
+            Arrays.sort(result);
+        }
+        return result;
+    }
+
+    private int append(long id) {
+        if (size == ids.length) {
+            final int capacity = size * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            names = Arrays.copyOf(names, capacity);
+            descriptions = Arrays.copyOf(descriptions, capacity);
+        }
+        if (size > 0 && ids[size - 1] > id) {
+            idOrdered = false;
+        }
+        ids[size] = id;
+        names[size] = "";
+        descriptions[size] = "";
+        ordinals.put(id, size);
+        return size++;
+    }
+
+    private static Set<Long> grams(String name, String description) {
+        final Set<Long> result = new HashSet<>();
+        addGrams(result, name);
+        addGrams(result, description);
+        return result;
+    }
+
+    private static void addGrams(Set<Long> result, String text) {
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            result.add(((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+        }
+    }
+
+    private static final class Postings {
+        private int[] values = new int[4];
+        private int size;
+
+        private void append(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        private void add(int value) {
+            int position = Arrays.binarySearch(values, 0, size, value);
+            if (position >= 0) {
+                return;
+            }
+            position = -position - 1;
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            System.arraycopy(values, position, values, position + 1, size - position);
+            values[position] = value;
+            size++;
+        }
+
+        private void remove(int value) {
+            final int position = Arrays.binarySearch(values, 0, size, value);
+            if (position < 0) {
+                return;
+            }
+            System.arraycopy(values, position + 1, values, position, size - position - 1);
+            size--;
+        }
+
+        private boolean contains(int value) {
+            return Arrays.binarySearch(values, 0, size, value) >= 0;
+        }
+    }
+}
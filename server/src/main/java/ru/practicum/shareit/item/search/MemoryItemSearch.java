@@ -0,0 +1,137 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.util.PageCursor;
+
+import javax.annotation.PostConstruct;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "memory")
+public class MemoryItemSearch implements ItemSearch {
+    private static final int BATCH = 1000;
+
+    private final ItemRepository itemRepository;
+    private volatile ItemSearchIndex index = new ItemSearchIndex();
+
+    @PostConstruct
+    public void rebuild() {
+        final ItemSearchIndex newIndex = new ItemSearchIndex();
+        long lastId = 0;
+        List<ItemSearchView> batch;
+        do {
+            batch = itemRepository.findSearchBatch(lastId, PageRequest.of(0, BATCH));
+            for (ItemSearchView item : batch) {
+                newIndex.put(item.getId(), item.getName(), item.getDescription(), item.getAvailable());
+                lastId = item.getId();
+            }
+        } while (batch.size() == BATCH);
+        index = newIndex;
+        log.info("Индекс поиска предметов построен, предметов : {}", newIndex.size());
+    }
+
+    @Override
+    public List<Item> search(String text, Long userId, PageRequest page) {
+        return fill(() -> index.search(text, Math.toIntExact(page.getOffset()), page.getPageSize()), userId);
+    }
+
+    @Override
+    public List<Item> searchAfter(String text, Long userId, PageCursor cursor, int size) {
+        return fill(() -> index.searchAfter(text, cursor.getRank(), cursor.getId(), size), userId);
+    }
+
+    @Override
+    public void index(Item item) {
+        final long id = item.getId();
+        final String name = item.getName();
+        final String description = item.getDescription();
+        final boolean available = Boolean.TRUE.equals(item.getIsAvailable());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            index.put(id, name, description, available);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                index.put(id, name, description, available);
+            }
+        });
+    }
+
+    @Override
+    public void remove(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            removeNow(ids);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                removeNow(ids);
+            }
+        });
+    }
+
+    /**
+     * Загружает страницу предметов. Предметы, которых уже нет в базе, убираются из индекса,
+     * и страница добирается следующими кандидатами.
+     */
+    private List<Item> fill(Supplier<List<Long>> candidates, Long userId) {
+        while (true) {
+            final List<Long> ids = candidates.get();
+            final List<Item> items = hydrate(ids, userId);
+            if (items.size() == ids.size()) {
+                return items;
+            }
+            final Set<Long> existingIds = new HashSet<>(itemRepository.findIdsByIdIn(ids));
+            if (existingIds.size() == ids.size()) {
+                // все предметы на месте, значит нет пользователя
+                return items;
+            }
+            removeNow(ids.stream()
+                    .filter(id -> !existingIds.contains(id))
+                    .collect(Collectors.toList()));
+        }
+    }
+
+    private void removeNow(Collection<Long> ids) {
+        final ItemSearchIndex current = index;
+        for (Long id : ids) {
+            current.remove(id);
+        }
+    }
+
+    private List<Item> hydrate(List<Long> ids, Long userId) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        final Map<Long, Item> items = itemRepository.findAllWithOwnerByIdIn(ids, userId)
+                .stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        return ids.stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+}
@@ -16,9 +16,10 @@ import java.time.LocalDateTime;
 public class ItemRequest {
     @Id
     @Column(name = "id")
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_request_seq")
+    @SequenceGenerator(name = "item_request_seq", sequenceName = "item_request_seq", allocationSize = 50)
     private Long id;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "requestor_id", referencedColumnName = "id")
     private User requestor;
     @Column(name = "description")
@@ -4,8 +4,10 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.exception.NotFoundEntityExeption;
+import ru.practicum.shareit.util.PageCursor;
 
 import java.util.List;
 
@@ -34,17 +36,23 @@ public class ItemRequestController {
     }
 
     @GetMapping("/all")
-    public List<ItemRequestDto> findAllRequest(@RequestHeader(X_SHARER) Long userId,
-                                               @RequestParam(value = FROM, defaultValue = "0") Integer from,
-                                               @RequestParam(value = SIZE, defaultValue = "10") Integer size) {
+    public ResponseEntity<List<ItemRequestDto>> findAllRequest(@RequestHeader(X_SHARER) Long userId,
+                                                               @RequestParam(value = FROM, defaultValue = "0") Integer from,
+                                                               @RequestParam(value = SIZE, defaultValue = "10") Integer size,
+                                                               @RequestParam(value = CURSOR, required = false) String cursor) {
         if (from < 0) {
             throw new NotFoundEntityExeption("Значение должно быть больше чем 0!");
         }
-        final Sort sort = Sort.by("created").descending();
-        final PageRequest page = PageRequest.of(from > 0 ? from / size : 0, size, sort);
-        final List<ItemRequestDto> itemRequestDto = itemRequestService.findAllRequest(userId, page);
+        final List<ItemRequestDto> itemRequestDto;
+        if (cursor != null && !cursor.isBlank()) {
+            itemRequestDto = itemRequestService.findAllRequest(userId, PageCursor.decodeTimed(cursor), size);
+        } else {
+            final Sort sort = Sort.by("created").descending().and(Sort.by("id").descending());
+            final PageRequest page = PageRequest.of(from > 0 ? from / size : 0, size, sort);
+            itemRequestDto = itemRequestService.findAllRequest(userId, page);
+        }
         log.debug("Получен список всех запросов для пользователя: {}", userId);
-        return itemRequestDto;
+        return PageCursor.toResponse(itemRequestDto, size, r -> PageCursor.of(r.getCreated(), r.getId()));
 
     }
 
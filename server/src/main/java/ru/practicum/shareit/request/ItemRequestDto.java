@@ -17,4 +17,10 @@ public class ItemRequestDto {
     private List<ItemDto> items = new ArrayList<>();
     private String description;
     private LocalDateTime created;
+
+    public ItemRequestDto(Long id, String description, LocalDateTime created) {
+        this.id = id;
+        this.description = description;
+        this.created = created;
+    }
 }
\ No newline at end of file
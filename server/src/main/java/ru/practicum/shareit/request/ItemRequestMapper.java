@@ -1,8 +1,13 @@
 package ru.practicum.shareit.request;
 
+import ru.practicum.shareit.item.ItemDto;
 import ru.practicum.shareit.user.User;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 public class ItemRequestMapper {
     public static ItemRequest dtoInRequest(ItemRequestDto itemRequestDto, User user) {
@@ -20,4 +25,23 @@ public class ItemRequestMapper {
         itemRequestDto.setCreated(itemRequest.getCreated());
         return itemRequestDto;
     }
+
+    /**
+     * Раскладывает предметы по запросам за один проход: предметы группируются по id запроса в хэш-таблице.
+     */
+    public static List<ItemRequestDto> withItems(List<ItemRequestDto> itemRequestDtos, List<ItemDto> itemDtos) {
+        final Map<Long, List<ItemDto>> itemsByRequest = new HashMap<>(itemRequestDtos.size() * 2);
+        for (ItemRequestDto itemRequestDto : itemRequestDtos) {
+            final List<ItemDto> items = new ArrayList<>();
+            itemRequestDto.setItems(items);
+            itemsByRequest.put(itemRequestDto.getId(), items);
+        }
+        for (ItemDto itemDto : itemDtos) {
+            final List<ItemDto> items = itemsByRequest.get(itemDto.getRequestId());
+            if (items != null) {
+                items.add(itemDto);
+            }
+        }
+        return itemRequestDtos;
+    }
 }
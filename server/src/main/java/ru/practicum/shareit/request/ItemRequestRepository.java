@@ -1,15 +1,27 @@
 package ru.practicum.shareit.request;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
 
-    List<ItemRequest> findAllByRequestor_Id(Long userId, Sort sort);
+    String REQUEST_DTO = "select new ru.practicum.shareit.request.ItemRequestDto(r.id, r.description, r.created) " +
+            "from ItemRequest r ";
 
-    Page<ItemRequest> findAllByRequestor_IdNot(Long userId, PageRequest page);
+    @Query(REQUEST_DTO + "where r.requestor.id = ?1")
+    List<ItemRequestDto> findAllByRequestor_Id(Long userId, Sort sort);
+
+    @Query(REQUEST_DTO + "where r.requestor.id <> ?1")
+    List<ItemRequestDto> findAllByRequestor_IdNot(Long userId, PageRequest page);
+
+    @Query(REQUEST_DTO + "where r.requestor.id <> ?1 " +
+            "and (r.created < ?2 or (r.created = ?2 and r.id < ?3)) " +
+            "order by r.created desc, r.id desc")
+    List<ItemRequestDto> findAllByRequestor_IdNotBefore(Long userId, LocalDateTime created, Long requestId, Pageable page);
 }
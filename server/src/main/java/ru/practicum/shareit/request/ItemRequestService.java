@@ -1,6 +1,7 @@
 package ru.practicum.shareit.request;
 
 import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.util.PageCursor;
 
 import java.util.List;
 
@@ -12,5 +13,7 @@ public interface ItemRequestService {
 
     List<ItemRequestDto> findAllRequest(Long userId, PageRequest page);
 
+    List<ItemRequestDto> findAllRequest(Long userId, PageCursor cursor, int size);
+
     ItemRequestDto findByRequestId(Long userId, Long requestId);
 }
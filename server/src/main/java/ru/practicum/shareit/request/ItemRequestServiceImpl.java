@@ -10,13 +10,16 @@ import ru.practicum.shareit.item.ItemDto;
 import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserIdIndex;
 import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.util.PageCursor;
 
 import java.util.List;
 import java.util.stream.Collectors;
 
 import static ru.practicum.shareit.request.ItemRequestMapper.dtoInRequest;
 import static ru.practicum.shareit.request.ItemRequestMapper.inRequestDto;
+import static ru.practicum.shareit.request.ItemRequestMapper.withItems;
 
 @Service
 @RequiredArgsConstructor
@@ -26,6 +29,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     private final ItemRequestRepository itemRequestRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final UserIdIndex userIdIndex;
 
 
     @Override
@@ -43,10 +47,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         if (!checkUser(userId))
             throw new NotFoundException("Пользователь с id : " + userId + " не найден.");
         final Sort sort = Sort.by("created").descending();
-        final List<ItemRequestDto> itemRequest = itemRequestRepository.findAllByRequestor_Id(userId, sort)
-                .stream()
-                .map(ItemRequestMapper::inRequestDto)
-                .collect(Collectors.toList());
+        final List<ItemRequestDto> itemRequest = itemRequestRepository.findAllByRequestor_Id(userId, sort);
         return addItemsToRequest(itemRequest);
     }
 
@@ -54,9 +55,16 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     public List<ItemRequestDto> findAllRequest(Long userId, PageRequest page) {
         if (!checkUser(userId))
             throw new NotFoundException("Пользователь с id : " + userId + " не найден.");
-        final List<ItemRequestDto> itemRequest = itemRequestRepository.findAllByRequestor_IdNot(userId, page)
-                .map(ItemRequestMapper::inRequestDto)
-                .getContent();
+        final List<ItemRequestDto> itemRequest = itemRequestRepository.findAllByRequestor_IdNot(userId, page);
+        return addItemsToRequest(itemRequest);
+    }
+
+    @Override
+    public List<ItemRequestDto> findAllRequest(Long userId, PageCursor cursor, int size) {
+        if (!checkUser(userId))
+            throw new NotFoundException("Пользователь с id : " + userId + " не найден.");
+        final List<ItemRequestDto> itemRequest = itemRequestRepository.findAllByRequestor_IdNotBefore(userId,
+                cursor.getTime(), cursor.getId(), PageRequest.of(0, size));
         return addItemsToRequest(itemRequest);
     }
 
@@ -75,25 +83,17 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     }
 
     private Boolean checkUser(Long userId) {
-        return userRepository.existsById(userId);
+        return userIdIndex.exists(userId);
     }
 
     private List<ItemRequestDto> addItemsToRequest(List<ItemRequestDto> itemRequestDto) {
+        if (itemRequestDto.isEmpty()) {
+            return itemRequestDto;
+        }
         final List<Long> listRequestIds = itemRequestDto
                 .stream()
                 .map(ItemRequestDto::getId)
                 .collect(Collectors.toList());
-        final List<ItemDto> itemDtoList = itemRepository.findAllByRequestIdIn(listRequestIds)
-                .stream()
-                .map(ItemMapper::itemInDto)
-                .collect(Collectors.toList());
-        for (ItemRequestDto re : itemRequestDto) {
-            for (ItemDto itemDto : itemDtoList) {
-                if (itemDto.getRequestId().equals(re.getId())) {
-                    re.getItems().add(itemDto);
-                }
-            }
-        }
-        return itemRequestDto;
+        return withItems(itemRequestDto, itemRepository.findAllByRequestIdIn(listRequestIds));
     }
 }
@@ -1,17 +1,41 @@
 package ru.practicum.shareit.user;
 
-import lombok.RequiredArgsConstructor;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.exception.NotFoundEntityExeption;
+import ru.practicum.shareit.util.PageCursor;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 
+import static ru.practicum.shareit.util.Constants.CURSOR;
+import static ru.practicum.shareit.util.Constants.FROM;
+import static ru.practicum.shareit.util.Constants.SIZE;
+
 @Slf4j
 @RestController
-@RequiredArgsConstructor
 @RequestMapping(path = "/users")
 public class UserController {
     private final UserService userService;
+    private final ObjectWriter lineWriter;
+
+    public UserController(UserService userService, ObjectMapper objectMapper) {
+        this.userService = userService;
+        // поток закрывает и сбрасывает сам StreamingResponseBody, а не каждая строка
+        this.lineWriter = objectMapper.writerFor(UserDto.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+    }
 
     @PostMapping()
     public UserDto create(@RequestBody UserDto inputUserDto) {
@@ -21,10 +45,37 @@ public class UserController {
     }
 
     @GetMapping
-    public List<UserDto> findAllUsers() {
-        List<UserDto> usersDto = userService.findAllUsers();
-        log.debug("Получение списка пользователей");
-        return usersDto;
+    public ResponseEntity<List<UserDto>> findAllUsers(@RequestParam(value = FROM, defaultValue = "0") Integer from,
+                                                      @RequestParam(value = SIZE, required = false) Integer size,
+                                                      @RequestParam(value = CURSOR, required = false) String cursor) {
+        if (size == null) {
+            List<UserDto> usersDto = userService.findAllUsers();
+            log.debug("Получение списка пользователей");
+            return ResponseEntity.ok(usersDto);
+        }
+        if (from < 0 || size <= 0) {
+            throw new NotFoundEntityExeption("Значение должно быть больше чем 0!");
+        }
+        final List<UserDto> usersDto;
+        if (cursor != null && !cursor.isBlank()) {
+            usersDto = userService.findAllUsers(PageCursor.decode(cursor), size);
+        } else {
+            usersDto = userService.findAllUsers(PageRequest.of(from / size, size, Sort.by("id")));
+        }
+        log.debug("Получение страницы пользователей");
+        return PageCursor.toResponse(usersDto, size, u -> PageCursor.of(u.getId()));
+    }
+
+    /**
+     * Все пользователи построчно в NDJSON, без сборки списка в памяти.
+     */
+    @GetMapping(path = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllUsers() {
+        log.debug("Выгрузка всех пользователей потоком");
+        StreamingResponseBody body = out -> userService.streamAllUsers(user -> writeLine(out, user));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     @GetMapping("/{userId}")
@@ -46,6 +97,13 @@ public class UserController {
         log.debug("Обновление пользователя: {}", userId);
         return userDto;
     }
-}
-
 
+    private void writeLine(OutputStream out, UserDto user) {
+        try {
+            lineWriter.writeValue(out, user);
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
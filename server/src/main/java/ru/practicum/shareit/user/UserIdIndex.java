@@ -0,0 +1,155 @@
+package ru.practicum.shareit.user;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Множество id пользователей в памяти. После построения множество отвечает на проверку без запроса к базе
+ * и в обе стороны: id не больше наибольшего известного, которого нет в множестве, считается отсутствующим.
+ * В базу проверка уходит, пока множество строится, и для id больше известных, например созданных импортом.
+ * Пользователи, созданные и удалённые в обход этого процесса (другим экземпляром сервера), попадают в множество
+ * при периодическом перестроении, до него проверка по ним может ошибаться.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserIdIndex {
+    private static final int BATCH = 10_000;
+
+    private final UserRepository userRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private BitSet ids = new BitSet();
+    private long knownUpTo;
+    private boolean warm;
+    private BitSet addedDuringRebuild;
+    private BitSet removedDuringRebuild;
+
+    @PostConstruct
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            addedDuringRebuild = new BitSet();
+            removedDuringRebuild = new BitSet();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        final BitSet newIds = new BitSet();
+        long lastId = 0;
+        List<Long> batch;
+        do {
+            batch = userRepository.findIdBatch(lastId, PageRequest.of(0, BATCH));
+            for (Long id : batch) {
+                if (id < Integer.MAX_VALUE) {
+                    newIds.set(id.intValue());
+                }
+                lastId = id;
+            }
+        } while (batch.size() == BATCH);
+        lock.writeLock().lock();
+        try {
+            // изменения этого процесса во время построения переносятся в новое множество
+            newIds.or(addedDuringRebuild);
+            newIds.andNot(removedDuringRebuild);
+            addedDuringRebuild = null;
+            removedDuringRebuild = null;
+            ids = newIds;
+            knownUpTo = Math.max(knownUpTo, Math.min(lastId, Integer.MAX_VALUE - 1L));
+            warm = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Индекс id пользователей построен, пользователей : {}", newIds.cardinality());
+    }
+
+    public boolean exists(Long userId) {
+        if (userId == null || userId < 0) {
+            return false;
+        }
+        lock.readLock().lock();
+        try {
+            if (warm && userId <= knownUpTo) {
+                return ids.get(userId.intValue());
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (!userRepository.existsById(userId)) {
+            return false;
+        }
+        put(userId);
+        return true;
+    }
+
+    public void add(User user) {
+        final long id = user.getId();
+        put(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        clear(id);
+                    }
+                }
+            });
+        }
+    }
+
+    public void remove(Long userId) {
+        final long id = userId;
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            clear(id);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                clear(id);
+            }
+        });
+    }
+
+    private void put(long id) {
+        if (id >= Integer.MAX_VALUE) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            ids.set((int) id);
+            knownUpTo = Math.max(knownUpTo, id);
+            if (addedDuringRebuild != null) {
+                addedDuringRebuild.set((int) id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void clear(long id) {
+        if (id >= Integer.MAX_VALUE) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            ids.clear((int) id);
+            if (addedDuringRebuild != null) {
+                addedDuringRebuild.clear((int) id);
+            }
+            if (removedDuringRebuild != null) {
+                removedDuringRebuild.set((int) id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -1,6 +1,32 @@
 package ru.practicum.shareit.user;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import javax.persistence.QueryHint;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 public interface UserRepository extends JpaRepository<User, Long> {
+    String STREAM_FETCH_SIZE = "500";
+
+    @Query("select u.id from User u where u.id > ?1 order by u.id")
+    List<Long> findIdBatch(Long userId, Pageable page);
+
+    List<User> findAllBy(Pageable page);
+
+    @Query("select u from User u where u.id > ?1 order by u.id")
+    List<User> findAllAfter(Long userId, Pageable page);
+
+    /**
+     * Курсор JDBC по всем пользователям: строки читаются порциями по STREAM_FETCH_SIZE, DTO не попадают в
+     * контекст персистентности. Поток нужно закрыть внутри транзакции.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query("select new ru.practicum.shareit.user.UserDto(u.id, u.name, u.email) from User u order by u.id")
+    Stream<UserDto> streamAll();
 }
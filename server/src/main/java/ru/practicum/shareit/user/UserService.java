@@ -1,10 +1,20 @@
 package ru.practicum.shareit.user;
 
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.util.PageCursor;
+
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface UserService {
     List<UserDto> findAllUsers();
 
+    List<UserDto> findAllUsers(PageRequest page);
+
+    List<UserDto> findAllUsers(PageCursor cursor, int size);
+
+    void streamAllUsers(Consumer<UserDto> consumer);
+
     UserDto create(UserDto userDto);
 
     void deleteUser(Long userId);
@@ -1,13 +1,26 @@
 package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.availability.ItemAvailability;
+import ru.practicum.shareit.booking.summary.ItemBookingSummaries;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearch;
+import ru.practicum.shareit.util.PageCursor;
 
+import javax.persistence.Cache;
+import javax.persistence.EntityManagerFactory;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static ru.practicum.shareit.user.UserMapper.userDtoInUser;
 import static ru.practicum.shareit.user.UserMapper.userInDTO;
@@ -17,6 +30,12 @@ import static ru.practicum.shareit.user.UserMapper.userInDTO;
 @Transactional(readOnly = true)
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
+    private final EntityManagerFactory entityManagerFactory;
+    private final UserIdIndex userIdIndex;
+    private final ItemBookingSummaries itemBookingSummaries;
+    private final ItemAvailability itemAvailability;
+    private final ItemSearch itemSearch;
+    private final ItemRepository itemRepository;
 
     @Override
     public List<UserDto> findAllUsers() {
@@ -26,17 +45,49 @@ public class UserServiceImpl implements UserService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<UserDto> findAllUsers(PageRequest page) {
+        return userRepository.findAllBy(page)
+                .stream()
+                .map(UserMapper::userInDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<UserDto> findAllUsers(PageCursor cursor, int size) {
+        return userRepository.findAllAfter(cursor.getId(), PageRequest.of(0, size))
+                .stream()
+                .map(UserMapper::userInDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void streamAllUsers(Consumer<UserDto> consumer) {
+        try (Stream<UserDto> users = userRepository.streamAll()) {
+            users.forEach(consumer);
+        }
+    }
+
     @Transactional
     @Override
     public UserDto create(UserDto inputUserDto) {
         User user = userRepository.save(userDtoInUser(inputUserDto));
+        userIdIndex.add(user);
         return userInDTO(user);
     }
 
     @Transactional
     @Override
     public void deleteUser(Long userId) {
+        final List<Long> bookedItemIds = itemBookingSummaries.findItemIdsBookedBy(userId);
+        final List<Long> ownedItemIds = itemRepository.findIdsByOwnerId(userId);
+        itemAvailability.evictForUser(userId);
+        itemSearch.remove(ownedItemIds);
         userRepository.deleteById(userId);
+        userIdIndex.remove(userId);
+        evictItemsAfterCommit(ownedItemIds);
+        // брони пользователя удаляются в базе каскадно, сводки предметов с ними пересчитываются без них
+        itemBookingSummaries.refresh(bookedItemIds);
     }
 
     @Override
@@ -57,4 +108,28 @@ public class UserServiceImpl implements UserService {
             newUser.setEmail(oldUser.getEmail());
         return userInDTO(userRepository.save(newUser));
     }
+
+    private void evictItemsAfterCommit(List<Long> itemIds) {
+        // предметы пользователя удаляются каскадом в базе, мимо кэша второго уровня
+        if (itemIds.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evictItems(itemIds);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evictItems(itemIds);
+            }
+        });
+    }
+
+    private void evictItems(List<Long> itemIds) {
+        final Cache cache = entityManagerFactory.getCache();
+        for (Long itemId : itemIds) {
+            cache.evict(Item.class, itemId);
+        }
+    }
 }
@@ -0,0 +1,96 @@
+package ru.practicum.shareit.util;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.exception.NotFoundEntityExeption;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+import static ru.practicum.shareit.util.Constants.NEXT_CURSOR;
+
+@Getter
+@EqualsAndHashCode
+@ToString
+public final class PageCursor {
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime time;
+    private final Integer rank;
+    private final long id;
+
+    private PageCursor(LocalDateTime time, Integer rank, long id) {
+        this.time = time;
+        this.rank = rank;
+        this.id = id;
+    }
+
+    public static PageCursor of(long id) {
+        return new PageCursor(null, null, id);
+    }
+
+    public static PageCursor of(LocalDateTime time, long id) {
+        return new PageCursor(time, null, id);
+    }
+
+    public static PageCursor ranked(int rank, long id) {
+        return new PageCursor(null, rank, id);
+    }
+
+    public String encode() {
+        String raw = (time == null ? "" : time.toString()) + SEPARATOR + id;
+        if (rank != null) {
+            raw = raw + SEPARATOR + rank;
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PageCursor decode(String token) {
+        try {
+            final String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            final String[] parts = raw.split(Pattern.quote(SEPARATOR), -1);
+            if (parts.length < 2 || parts.length > 3) {
+                throw new NotFoundEntityExeption("Некорректный курсор страницы.");
+            }
+            final LocalDateTime time = parts[0].isEmpty() ? null : LocalDateTime.parse(parts[0]);
+            final long id = Long.parseLong(parts[1]);
+            final Integer rank = parts.length == 3 ? Integer.valueOf(parts[2]) : null;
+            return new PageCursor(time, rank, id);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new NotFoundEntityExeption("Некорректный курсор страницы.");
+        }
+    }
+
+    public static PageCursor decodeTimed(String token) {
+        final PageCursor cursor = decode(token);
+        if (cursor.getTime() == null) {
+            throw new NotFoundEntityExeption("Некорректный курсор страницы.");
+        }
+        return cursor;
+    }
+
+    public static PageCursor decodeRanked(String token) {
+        final PageCursor cursor = decode(token);
+        if (cursor.getRank() == null) {
+            throw new NotFoundEntityExeption("Некорректный курсор страницы.");
+        }
+        return cursor;
+    }
+
+    public static <T> ResponseEntity<List<T>> toResponse(List<T> content, int size, Function<T, PageCursor> keyOf) {
+        if (content.isEmpty() || content.size() < size) {
+            return ResponseEntity.ok(content);
+        }
+        final PageCursor next = keyOf.apply(content.get(content.size() - 1));
+        return ResponseEntity.ok()
+                .header(NEXT_CURSOR, next.encode())
+                .body(content);
+    }
+}
@@ -0,0 +1,12 @@
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_start ON bookings (booker_id, start_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_start ON bookings (item_id, start_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_status ON bookings (item_id, status);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_end ON bookings (item_id, end_date);
+
+CREATE INDEX IF NOT EXISTS idx_items_owner ON items (owner_id, id);
+CREATE INDEX IF NOT EXISTS idx_items_request ON items (request_id);
+
+CREATE INDEX IF NOT EXISTS idx_comments_item ON comments (item_id);
+
+CREATE INDEX IF NOT EXISTS idx_item_request_requestor_created ON item_request (requestor_id, created DESC);
+CREATE INDEX IF NOT EXISTS idx_item_request_created ON item_request (created DESC, id DESC);
@@ -0,0 +1,32 @@
+-- последняя и ближайшая подтверждённые брони предмета, строка есть только у предметов с такими бронями
+
+CREATE TABLE IF NOT EXISTS item_booking_summary (
+    item_id BIGINT NOT NULL REFERENCES items (id) ON DELETE CASCADE,
+    last_booking_id BIGINT,
+    last_booker_id BIGINT,
+    last_start TIMESTAMP WITHOUT TIME ZONE,
+    last_end TIMESTAMP WITHOUT TIME ZONE,
+    next_booking_id BIGINT,
+    next_booker_id BIGINT,
+    next_start TIMESTAMP WITHOUT TIME ZONE,
+    next_end TIMESTAMP WITHOUT TIME ZONE,
+    CONSTRAINT pk_item_booking_summary PRIMARY KEY (item_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_item_booking_summary_next_start ON item_booking_summary (next_start);
+CREATE INDEX IF NOT EXISTS idx_item_booking_summary_last_booker ON item_booking_summary (last_booker_id);
+CREATE INDEX IF NOT EXISTS idx_item_booking_summary_next_booker ON item_booking_summary (next_booker_id);
+
+INSERT INTO item_booking_summary (item_id, last_booking_id, last_booker_id, last_start, last_end,
+                                  next_booking_id, next_booker_id, next_start, next_end)
+SELECT i.item_id, l.id, l.booker_id, l.start_date, l.end_date, n.id, n.booker_id, n.start_date, n.end_date
+FROM (SELECT DISTINCT item_id FROM bookings WHERE status = 'APPROVED') i
+LEFT JOIN (SELECT id, item_id, booker_id, start_date, end_date,
+                  ROW_NUMBER() OVER (PARTITION BY item_id ORDER BY end_date DESC, id DESC) AS rn
+           FROM bookings
+           WHERE status = 'APPROVED' AND start_date < LOCALTIMESTAMP) l ON l.item_id = i.item_id AND l.rn = 1
+LEFT JOIN (SELECT id, item_id, booker_id, start_date, end_date,
+                  ROW_NUMBER() OVER (PARTITION BY item_id ORDER BY start_date, id) AS rn
+           FROM bookings
+           WHERE status = 'APPROVED' AND start_date > LOCALTIMESTAMP) n ON n.item_id = i.item_id AND n.rn = 1
+WHERE l.id IS NOT NULL OR n.id IS NOT NULL;
@@ -0,0 +1,26 @@
+-- шаг 50 - размер блока id Hibernate (pooled-lo), вставка без id через SQL занимает целый блок
+
+CREATE SEQUENCE IF NOT EXISTS users_seq INCREMENT BY 50;
+ALTER SEQUENCE users_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM users);
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE users ALTER COLUMN id SET DEFAULT NEXT VALUE FOR users_seq;
+
+CREATE SEQUENCE IF NOT EXISTS item_request_seq INCREMENT BY 50;
+ALTER SEQUENCE item_request_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM item_request);
+ALTER TABLE item_request ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE item_request ALTER COLUMN id SET DEFAULT NEXT VALUE FOR item_request_seq;
+
+CREATE SEQUENCE IF NOT EXISTS items_seq INCREMENT BY 50;
+ALTER SEQUENCE items_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM items);
+ALTER TABLE items ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE items ALTER COLUMN id SET DEFAULT NEXT VALUE FOR items_seq;
+
+CREATE SEQUENCE IF NOT EXISTS bookings_seq INCREMENT BY 50;
+ALTER SEQUENCE bookings_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM bookings);
+ALTER TABLE bookings ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE bookings ALTER COLUMN id SET DEFAULT NEXT VALUE FOR bookings_seq;
+
+CREATE SEQUENCE IF NOT EXISTS comments_seq INCREMENT BY 50;
+ALTER SEQUENCE comments_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM comments);
+ALTER TABLE comments ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE comments ALTER COLUMN id SET DEFAULT NEXT VALUE FOR comments_seq;
@@ -0,0 +1,131 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+
+@JdbcTest
+public class SchemaIndexTest {
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void addEnvironsForAll() {
+        if (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class) > 0) {
+            return;
+        }
+        jdbcTemplate.update("INSERT INTO users (id, name, email) " +
+                "SELECT x, 'user' || x, 'user' || x || '@mail.ru' FROM SYSTEM_RANGE(1, 200)");
+        jdbcTemplate.update("INSERT INTO item_request (id, description, requestor_id, created) " +
+                "SELECT x, 'request' || x, MOD(x, 200) + 1, DATEADD('MINUTE', x, CURRENT_TIMESTAMP) " +
+                "FROM SYSTEM_RANGE(1, 2000)");
+        jdbcTemplate.update("INSERT INTO items (id, name, description, available, owner_id, request_id) " +
+                "SELECT x, 'item' || x, 'description' || x, TRUE, MOD(x, 200) + 1, x FROM SYSTEM_RANGE(1, 2000)");
+        jdbcTemplate.update("INSERT INTO bookings (id, start_date, end_date, item_id, booker_id, status) " +
+                "SELECT x, DATEADD('HOUR', x, CURRENT_TIMESTAMP), DATEADD('HOUR', x + 1, CURRENT_TIMESTAMP), " +
+                "MOD(x, 2000) + 1, MOD(x, 200) + 1, CASEWHEN(MOD(x, 3) = 0, 'APPROVED', 'WAITING') " +
+                "FROM SYSTEM_RANGE(1, 20000)");
+        jdbcTemplate.update("INSERT INTO comments (id, text, item_id, author_id, created) " +
+                "SELECT x, 'comment' || x, MOD(x, 2000) + 1, MOD(x, 200) + 1, CURRENT_TIMESTAMP FROM SYSTEM_RANGE(1, 4000)");
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    void migrationCreatesQueryIndexesTest() {
+        List<String> indexes = jdbcTemplate.queryForList("SELECT index_name FROM information_schema.indexes " +
+                "WHERE index_name LIKE 'IDX_%'", String.class);
+
+        assertThat(indexes, containsInAnyOrder("IDX_BOOKINGS_BOOKER_START", "IDX_BOOKINGS_ITEM_START",
+                "IDX_BOOKINGS_ITEM_STATUS", "IDX_BOOKINGS_ITEM_END", "IDX_ITEMS_OWNER", "IDX_ITEMS_REQUEST",
+                "IDX_COMMENTS_ITEM", "IDX_ITEM_REQUEST_REQUESTOR_CREATED", "IDX_ITEM_REQUEST_CREATED",
+                "IDX_ITEMS_AVAILABLE", "IDX_ITEM_BOOKING_SUMMARY_NEXT_START", "IDX_ITEM_BOOKING_SUMMARY_LAST_BOOKER",
+                "IDX_ITEM_BOOKING_SUMMARY_NEXT_BOOKER"));
+    }
+
+    @Test
+    void startedBookingSummariesUseIndexTest() {
+        String plan = explain("SELECT item_id FROM item_booking_summary WHERE next_start <= LOCALTIMESTAMP " +
+                "ORDER BY next_start, item_id");
+
+        assertThat(plan, not(containsString("tableScan")));
+    }
+
+    @Test
+    void bookerBookingsUseIndexTest() {
+        String plan = explain("SELECT * FROM bookings WHERE booker_id = 1 AND start_date > LOCALTIMESTAMP " +
+                "ORDER BY start_date DESC, id DESC");
+
+        assertThat(plan, not(containsString("tableScan")));
+    }
+
+    @Test
+    void ownerBookingsUseIndexTest() {
+        String plan = explain("SELECT b.* FROM bookings b JOIN items i ON i.id = b.item_id " +
+                "WHERE i.owner_id = 1 ORDER BY b.start_date DESC, b.id DESC");
+
+        assertThat(plan, not(containsString("tableScan")));
+    }
+
+    @Test
+    void itemBookingsByStatusUseIndexTest() {
+        String plan = explain("SELECT * FROM bookings WHERE item_id IN (1, 2, 3) AND status = 'APPROVED'");
+
+        assertThat(plan, not(containsString("tableScan")));
+    }
+
+    @Test
+    void finishedItemBookingsUseIndexTest() {
+        String plan = explain("SELECT * FROM bookings WHERE item_id = 1 AND end_date < LOCALTIMESTAMP");
+
+        assertThat(plan, not(containsString("tableScan")));
+    }
+
+    @Test
+    void ownerItemsUseIndexTest() {
+        String plan = explain("SELECT * FROM items WHERE owner_id = 1 AND id > 10 ORDER BY id");
+
+        assertThat(plan, not(containsString("tableScan")));
+    }
+
+    @Test
+    void requestItemsUseIndexTest() {
+        String plan = explain("SELECT * FROM items WHERE request_id IN (1, 2, 3)");
+
+        assertThat(plan, not(containsString("tableScan")));
+    }
+
+    @Test
+    void itemCommentsUseIndexTest() {
+        String plan = explain("SELECT * FROM comments WHERE item_id = 1");
+
+        assertThat(plan, not(containsString("tableScan")));
+    }
+
+    @Test
+    void requestorRequestsUseIndexTest() {
+        String plan = explain("SELECT * FROM item_request WHERE requestor_id = 1 ORDER BY created DESC");
+
+        assertThat(plan, not(containsString("tableScan")));
+    }
+
+    @Test
+    void otherRequestsUseIndexTest() {
+        String plan = explain("SELECT * FROM item_request WHERE requestor_id <> 1 " +
+                "AND created < LOCALTIMESTAMP ORDER BY created DESC, id DESC");
+
+        assertThat(plan, not(containsString("tableScan")));
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+    }
+}
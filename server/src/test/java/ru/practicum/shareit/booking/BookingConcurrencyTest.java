@@ -0,0 +1,123 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.exception.NotFoundEntityExeption;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThan;
+
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = {"spring.datasource.url=jdbc:h2:mem:shareit-concurrency;LOCK_TIMEOUT=10000",
+                "spring.datasource.hikari.maximum-pool-size=16"})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class BookingConcurrencyTest {
+    private static final int ITEMS = 4;
+    private static final int REQUESTS = 2000;
+    private static final int THREADS = 32;
+
+    private final BookingService bookingService;
+    private final BookingRepository bookingRepository;
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+
+    @Test
+    void parallelCreateHasNoOverlapsTest() throws Exception {
+        User owner = new User();
+        owner.setName("ownerConcurrencyTest");
+        owner.setEmail("ownerConcurrencyTest@mail.ru");
+        userRepository.save(owner);
+        User booker = new User();
+        booker.setName("bookerConcurrencyTest");
+        booker.setEmail("bookerConcurrencyTest@mail.ru");
+        userRepository.save(booker);
+        List<Long> itemIds = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            Item item = new Item();
+            item.setName("itemConcurrencyTest" + i);
+            item.setDescription("itemConcurrencyDescriptionTest");
+            item.setIsAvailable(Boolean.TRUE);
+            item.setOwner(owner);
+            itemIds.add(itemRepository.save(item).getId());
+        }
+        LocalDateTime base = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+        Random random = new Random(42);
+        List<BookingRequestDto> requests = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            LocalDateTime start = base.plusHours(random.nextInt(24 * 60));
+            requests.add(new BookingRequestDto(itemIds.get(random.nextInt(ITEMS)), start,
+                    start.plusHours(1 + random.nextInt(48))));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch ready = new CountDownLatch(1);
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        List<Future<Long>> latencies = new ArrayList<>();
+        for (BookingRequestDto request : requests) {
+            latencies.add(executor.submit(() -> {
+                ready.await();
+                long startedAt = System.nanoTime();
+                try {
+                    bookingService.create(request, booker.getId());
+                } catch (NotFoundEntityExeption e) {
+                    rejected.incrementAndGet();
+                } catch (RuntimeException e) {
+                    failed.incrementAndGet();
+                }
+                return System.nanoTime() - startedAt;
+            }));
+        }
+        ready.countDown();
+        long[] nanos = new long[latencies.size()];
+        for (int i = 0; i < nanos.length; i++) {
+            nanos[i] = latencies.get(i).get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        Arrays.sort(nanos);
+        long p99 = TimeUnit.NANOSECONDS.toMillis(nanos[(int) (nanos.length * 0.99) - 1]);
+
+        List<Booking> created = bookingRepository.findAll()
+                .stream()
+                .filter(booking -> itemIds.contains(booking.getItem().getId()))
+                .collect(Collectors.toList());
+        assertThat(failed.get(), equalTo(0));
+        assertThat(rejected.get(), greaterThan(0));
+        assertThat(created.size() + rejected.get(), equalTo(REQUESTS));
+        assertThat(p99, lessThan(2000L));
+        for (Long itemId : itemIds) {
+            List<Booking> itemBookings = created.stream()
+                    .filter(booking -> booking.getItem().getId().equals(itemId))
+                    .sorted(Comparator.comparing(Booking::getStart))
+                    .collect(Collectors.toList());
+            for (int i = 1; i < itemBookings.size(); i++) {
+                assertThat(itemBookings.get(i).getStart(), greaterThanOrEqualTo(itemBookings.get(i - 1).getEnd()));
+            }
+        }
+    }
+}
@@ -8,19 +8,26 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import org.springframework.data.domain.Sort;
 import ru.practicum.shareit.exception.NotFoundEntityExeption;
+import ru.practicum.shareit.util.PageCursor;
 
 @WebMvcTest(BookingController.class)
 public class BookingControllerTest {
@@ -37,7 +44,7 @@ public class BookingControllerTest {
 
     private static final Long USER_ID = 1L;
 
-    private final Sort sort = Sort.by("start").descending();
+    private final Sort sort = Sort.by("start").descending().and(Sort.by("id").descending());
     private final PageRequest page = PageRequest.of(0, 10, sort);
 
     private final BookingRequestDto bookingRequestDto = new BookingRequestDto(
@@ -71,6 +78,21 @@ public class BookingControllerTest {
         verify(bookingService, times(1)).create(any(), anyLong());
     }
 
+    @Test
+    void createAllTest() throws Exception {
+        when(bookingService.createAll(anyList(), anyLong()))
+                .thenReturn(List.of(bookingDto));
+
+        mockMvc.perform(post("/bookings/batch")
+                        .content(mapper.writeValueAsString(List.of(bookingRequestDto)))
+                        .header(X_SHARER_USER_ID, 1)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(bookingDto.getId()))
+                .andExpect(jsonPath("$[0].item.name").value(bookingDto.getItem().getName()));
+        verify(bookingService, times(1)).createAll(anyList(), anyLong());
+    }
+
     @Test
     void updateTest() throws Exception {
         bookingDto.setStatus(Status.APPROVED);
@@ -135,6 +157,94 @@ public class BookingControllerTest {
         verify(bookingService, times(1)).findAllByOwner(USER_ID, state, page);
     }
 
+    @Test
+    void findAllByBookerWithCursorTest() throws Exception {
+        String state = "ALL";
+        PageCursor cursor = PageCursor.of(bookingDto.getStart(), bookingDto.getId());
+        when(bookingService.findAllByBooker(USER_ID, state, cursor, 1))
+                .thenReturn(List.of(bookingDto));
+
+        mockMvc.perform(get("/bookings?size=1")
+                        .header(X_SHARER_USER_ID, USER_ID)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .param("state", state)
+                        .param("cursor", cursor.encode()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(bookingDto.getId()))
+                .andExpect(header().string("X-Next-Cursor", cursor.encode()));
+        verify(bookingService, times(1)).findAllByBooker(USER_ID, state, cursor, 1);
+    }
+
+    @Test
+    void findAllByOwnerWithBadCursorTest() throws Exception {
+        mockMvc.perform(get("/bookings/owner?size=1")
+                        .header(X_SHARER_USER_ID, USER_ID)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .param("cursor", PageCursor.of(1L).encode()))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(bookingService);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void exportAllByOwnerTest() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<BookingDto> consumer = invocation.getArgument(4);
+            consumer.accept(bookingDto);
+            return null;
+        }).when(bookingService).exportAllByOwner(eq(USER_ID), eq("ALL"), isNull(), isNull(), any(Consumer.class));
+
+        MvcResult result = mockMvc.perform(get("/bookings/owner/export")
+                        .header(X_SHARER_USER_ID, USER_ID))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(mapper.writeValueAsString(bookingDto) + "\n"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void exportAllByOwnerCsvTest() throws Exception {
+        LocalDateTime start = LocalDateTime.of(2024, 5, 1, 0, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2024, 6, 1, 0, 0, 0);
+        BookingDto quoted = new BookingDto(2L, bookingDto.getStart(), bookingDto.getEnd(),
+                new BookingDto.Item(1L, "item, \"Test\""), bookingDto.getBooker(), Status.APPROVED);
+        doAnswer(invocation -> {
+            Consumer<BookingDto> consumer = invocation.getArgument(4);
+            consumer.accept(bookingDto);
+            consumer.accept(quoted);
+            return null;
+        }).when(bookingService).exportAllByOwner(eq(USER_ID), eq("PAST"), eq(start), eq(end), any(Consumer.class));
+
+        MvcResult result = mockMvc.perform(get("/bookings/owner/export")
+                        .header(X_SHARER_USER_ID, USER_ID)
+                        .param("state", "PAST")
+                        .param("start", "2024-05-01T00:00:00")
+                        .param("end", "2024-06-01T00:00:00")
+                        .param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andExpect(content().string("id,start,end,status,itemId,itemName,bookerId,bookerName\n" +
+                        "1,2024-05-20T12:00,2024-05-21T12:00,WAITING,1,itemTest,1,bookerTest\n" +
+                        "2,2024-05-20T12:00,2024-05-21T12:00,APPROVED,1,\"item, \"\"Test\"\"\",1,bookerTest\n"));
+    }
+
+    @Test
+    void exportAllByOwnerUnknownFormatTest() throws Exception {
+        mockMvc.perform(get("/bookings/owner/export")
+                        .header(X_SHARER_USER_ID, USER_ID)
+                        .param("format", "xml"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(bookingService);
+    }
+
     @Test
     void shouldErrorStatusTest() throws Exception {
         String state = "NEVER";
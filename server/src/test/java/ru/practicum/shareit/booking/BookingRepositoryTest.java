@@ -11,6 +11,8 @@ import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.util.PageCursor;
+import ru.practicum.shareit.util.SqlAssert;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -64,9 +66,15 @@ public class BookingRepositoryTest {
 
     @Test
     void findAllByBooker_IdTest() {
-        List<Booking> result = bookingRepository.findAllByBooker_Id(user.getId(), page)
-                .stream()
-                .collect(Collectors.toList());
+        List<BookingDto> result = SqlAssert.measure(testEntityManager.getEntityManager(),
+                        () -> bookingRepository.findAllByBooker_Id(user.getId(), page)
+                                .stream()
+                                .collect(Collectors.toList()))
+                .statements(1)
+                .rows(1)
+                .noLazyFetches()
+                .loaded(Item.class, 0)
+                .result();
 
         assertThat(result, notNullValue());
         assertThat(result.size(), equalTo(1));
@@ -74,7 +82,7 @@ public class BookingRepositoryTest {
 
     @Test
     void findByBooker_IdAndStartIsBeforeAndEndIsAfterTest() {
-        List<Booking> result = bookingRepository.findByBooker_IdAndStartIsAfter(user.getId(), LocalDateTime.now(), page)
+        List<BookingDto> result = bookingRepository.findByBooker_IdAndStartIsAfter(user.getId(), LocalDateTime.now(), page)
                 .stream()
                 .collect(Collectors.toList());
 
@@ -84,7 +92,7 @@ public class BookingRepositoryTest {
 
     @Test
     void findByBooker_IdAndEndIsBeforeTest() {
-        List<Booking> result = bookingRepository.findByBooker_IdAndEndIsBefore(user.getId(), LocalDateTime.now(), page)
+        List<BookingDto> result = bookingRepository.findByBooker_IdAndEndIsBefore(user.getId(), LocalDateTime.now(), page)
                 .stream()
                 .collect(Collectors.toList());
 
@@ -93,32 +101,30 @@ public class BookingRepositoryTest {
     }
 
     @Test
-    void findAllByItem_IdInTest() {
-        List<Booking> result = bookingRepository.findAllByItem_IdIn(List.of(item.getId()), page)
-                .stream()
-                .collect(Collectors.toList());
+    void findByOwnerTest() {
+        List<BookingDto> result = SqlAssert.measure(testEntityManager.getEntityManager(),
+                        () -> bookingRepository.findByOwner(user.getId(), BookingState.ALL, LocalDateTime.now(), page))
+                .statements(1)
+                .rows(1)
+                .noLazyFetches()
+                .loaded(Booking.class, 0)
+                .result();
 
         assertThat(result, notNullValue());
         assertThat(result.size(), equalTo(1));
     }
 
     @Test
-    void findByItem_IdInAndStartIsBeforeAndEndIsAfterTest() {
-        List<Booking> result = bookingRepository.findByItem_IdInAndStartIsBeforeAndEndIsAfter(List.of(item.getId()),
-                        LocalDateTime.now(), LocalDateTime.now(), page)
-                .stream()
-                .collect(Collectors.toList());
+    void findByOwnerCurrentTest() {
+        List<BookingDto> result = bookingRepository.findByOwner(user.getId(), BookingState.CURRENT, LocalDateTime.now(), page);
 
         assertThat(result, notNullValue());
         assertThat(result.size(), equalTo(0));
     }
 
     @Test
-    void findByItem_IdInAndEndIsBeforeTest() {
-        List<Booking> result = bookingRepository.findByItem_IdInAndEndIsBefore(List.of(item.getId()),
-                        LocalDateTime.now(), page)
-                .stream()
-                .collect(Collectors.toList());
+    void findByOwnerPastTest() {
+        List<BookingDto> result = bookingRepository.findByOwner(user.getId(), BookingState.PAST, LocalDateTime.now(), page);
 
         assertThat(result, notNullValue());
         assertThat(result.size(), equalTo(0));
@@ -126,7 +132,7 @@ public class BookingRepositoryTest {
 
     @Test
     void findByBooker_IdAndStartIsAfterAndStatusIsTest() {
-        List<Booking> result = bookingRepository.findByBooker_IdAndStartIsAfterAndStatusIs(user.getId(),
+        List<BookingDto> result = bookingRepository.findByBooker_IdAndStartIsAfterAndStatusIs(user.getId(),
                         LocalDateTime.now(), page, Status.WAITING)
                 .stream()
                 .collect(Collectors.toList());
@@ -136,30 +142,72 @@ public class BookingRepositoryTest {
     }
 
     @Test
-    void findByItem_IdInAndStartIsAfterAndStatusIsTest() {
-        List<Booking> result = bookingRepository.findByItem_IdInAndStartIsAfterAndStatusIs(List.of(item.getId()),
-                        LocalDateTime.now(), page, Status.WAITING)
-                .stream()
-                .collect(Collectors.toList());
+    void findByOwnerWaitingTest() {
+        List<BookingDto> result = bookingRepository.findByOwner(user.getId(), BookingState.WAITING, LocalDateTime.now(), page);
 
         assertThat(result, notNullValue());
         assertThat(result.size(), equalTo(1));
     }
 
     @Test
-    void findByItem_IdInAndStartIsAfterTest() {
-        List<Booking> result = bookingRepository.findAllByItem_IdInAndStatusIs(List.of(item.getId()), Status.WAITING);
+    void findByOwnerOffsetTest() {
+        User booker = new User();
+        booker.setName("BookerTest");
+        booker.setEmail("BookerTest@mail.ru");
+        userRepository.save(booker);
+        Booking next = new Booking();
+        next.setStart(LocalDateTime.now().plusDays(5));
+        next.setEnd(LocalDateTime.now().plusDays(6));
+        next.setItem(item);
+        next.setBooker(booker);
+        next.setStatus(Status.APPROVED);
+        bookingRepository.save(next);
 
-        assertThat(result, notNullValue());
-        assertThat(result.size(), equalTo(1));
+        List<BookingDto> first = bookingRepository.findByOwner(user.getId(), BookingState.ALL, LocalDateTime.now(),
+                PageRequest.of(0, 1));
+        List<BookingDto> second = bookingRepository.findByOwner(user.getId(), BookingState.ALL, LocalDateTime.now(),
+                PageRequest.of(1, 1));
+        List<BookingDto> foreign = bookingRepository.findByOwner(booker.getId(), BookingState.ALL, LocalDateTime.now(),
+                page);
+
+        assertThat(first.get(0).getId(), equalTo(next.getId()));
+        assertThat(second.get(0).getId(), equalTo(booking.getId()));
+        assertThat(foreign.size(), equalTo(0));
     }
 
     @Test
-    void findByItem_IdAndStatusIsTest() {
-        List<Booking> result = bookingRepository.findByItem_IdAndStatusIs(item.getId(), Status.WAITING);
+    void findLastAndNextByItemIdsTest() {
+        LocalDateTime now = LocalDateTime.now();
+        Booking last = addBooking(now.minusDays(5), now.minusDays(4), Status.APPROVED);
+        addBooking(now.minusDays(9), now.minusDays(8), Status.APPROVED);
+        addBooking(now.minusDays(2), now.minusDays(1), Status.REJECTED);
+        Booking next = addBooking(now.plusHours(1), now.plusHours(2), Status.APPROVED);
+        addBooking(now.plusDays(7), now.plusDays(8), Status.APPROVED);
+
+        List<BookingItemView> result = SqlAssert.measure(testEntityManager.getEntityManager(),
+                        () -> bookingRepository.findLastAndNextByItemIds(List.of(item.getId()), now))
+                .statements(1)
+                .rows(2)
+                .loaded(Booking.class, 0)
+                .result();
+
+        assertThat(result.size(), equalTo(2));
+        BookingItemView lastView = result.stream().filter(BookingItemView::getLast).findFirst().orElseThrow();
+        BookingItemView nextView = result.stream().filter(b -> !b.getLast()).findFirst().orElseThrow();
+        assertThat(lastView.getId(), equalTo(last.getId()));
+        assertThat(lastView.getItemId(), equalTo(item.getId()));
+        assertThat(lastView.getBookerId(), equalTo(user.getId()));
+        assertThat(lastView.getEnd(), notNullValue());
+        assertThat(nextView.getId(), equalTo(next.getId()));
+    }
+
+    @Test
+    void findLastAndNextByItemIdsWithoutApprovedTest() {
+        List<BookingItemView> result = bookingRepository.findLastAndNextByItemIds(List.of(item.getId()),
+                LocalDateTime.now());
 
         assertThat(result, notNullValue());
-        assertThat(result.size(), equalTo(1));
+        assertThat(result.size(), equalTo(0));
     }
 
     @Test
@@ -170,6 +218,44 @@ public class BookingRepositoryTest {
         assertThat(result.size(), equalTo(0));
     }
 
+    @Test
+    void findByBookerAfterTest() {
+        Booking next = new Booking();
+        next.setStart(booking.getStart());
+        next.setEnd(booking.getEnd());
+        next.setItem(item);
+        next.setBooker(user);
+        next.setStatus(Status.WAITING);
+        bookingRepository.save(next);
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        List<BookingDto> firstPage = bookingRepository.findByBookerAfter(user.getId(), BookingState.ALL,
+                LocalDateTime.now(), null, 1);
+        BookingDto last = firstPage.get(firstPage.size() - 1);
+        List<BookingDto> secondPage = bookingRepository.findByBookerAfter(user.getId(), BookingState.ALL,
+                LocalDateTime.now(), PageCursor.of(last.getStart(), last.getId()), 1);
+
+        assertThat(firstPage.size(), equalTo(1));
+        assertThat(firstPage.get(0).getId(), equalTo(next.getId()));
+        assertThat(secondPage.size(), equalTo(1));
+        assertThat(secondPage.get(0).getId(), equalTo(booking.getId()));
+    }
+
+    @Test
+    void findByOwnerAfterTest() {
+        testEntityManager.flush();
+        testEntityManager.clear();
+        booking = bookingRepository.findById(booking.getId()).get();
+        List<BookingDto> result = bookingRepository.findByOwnerAfter(user.getId(), BookingState.FUTURE,
+                LocalDateTime.now(), PageCursor.of(booking.getStart().plusDays(1), 0L), 10);
+        List<BookingDto> pastCursor = bookingRepository.findByOwnerAfter(user.getId(), BookingState.FUTURE,
+                LocalDateTime.now(), PageCursor.of(booking.getStart(), booking.getId()), 10);
+
+        assertThat(result.size(), equalTo(1));
+        assertThat("isEmpty", pastCursor.isEmpty());
+    }
+
     @Test
     void findByIdAndItemOwnerIdTest() {
         Optional<Booking> result = bookingRepository.findByIdAndItemOwnerId(booking.getId(), user.getId());
@@ -177,4 +263,14 @@ public class BookingRepositoryTest {
         assertThat(result, notNullValue());
         assertThat(result.get().getStatus(), equalTo(Status.WAITING));
     }
+
+    private Booking addBooking(LocalDateTime start, LocalDateTime end, Status status) {
+        Booking newBooking = new Booking();
+        newBooking.setStart(start);
+        newBooking.setEnd(end);
+        newBooking.setItem(item);
+        newBooking.setBooker(user);
+        newBooking.setStatus(status);
+        return bookingRepository.save(newBooking);
+    }
 }
@@ -7,15 +7,19 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.booking.availability.ItemAvailability;
+import ru.practicum.shareit.booking.summary.ItemBookingSummaries;
+import ru.practicum.shareit.exception.NotFoundEntityExeption;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserIdIndex;
 import ru.practicum.shareit.user.UserRepository;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Optional;
 
@@ -34,13 +38,18 @@ public class BookingServiceImplTest {
     private final UserRepository userRepository;
     @Mock
     private final BookingRepository bookingRepository;
+    @Mock
+    private final ItemAvailability itemAvailability;
+    @Mock
+    private final ItemBookingSummaries itemBookingSummaries;
 
     private BookingService bookingService;
     private User user;
 
     @BeforeEach
     public void addEnvironsForAll() {
-        bookingService = new BookingServiceImpl(itemRepository, userRepository, bookingRepository);
+        bookingService = new BookingServiceImpl(itemRepository, userRepository, bookingRepository, itemAvailability,
+                new UserIdIndex(userRepository), itemBookingSummaries);
         user = new User();
         user.setId(1L);
         user.setName("UserTest");
@@ -50,51 +59,55 @@ public class BookingServiceImplTest {
                 .thenAnswer(invocation -> invocation.getArgument(0));
         when(userRepository.findById(user.getId()))
                 .thenReturn(Optional.of(user));
+        when(userRepository.existsById(user.getId()))
+                .thenReturn(true);
+        when(itemAvailability.isFree(any(), any(), any()))
+                .thenReturn(true);
     }
 
     @Test
     void findAllBookingsByBookerTest() {
         when(bookingRepository.findAllByBooker_Id(any(), any()))
-                .thenReturn(Page.empty());
+                .thenReturn(List.of());
 
         List<BookingDto> result = bookingService.findAllByBooker(1L, "ALL", PageRequest.of(0, 10));
 
         assertThat(result, notNullValue());
         assertThat("isEmpty", result.isEmpty());
         verify(bookingRepository, times(1)).findAllByBooker_Id(any(), any());
-        verify(userRepository, times(1)).findById(user.getId());
+        verify(userRepository, times(1)).existsById(user.getId());
     }
 
     @Test
     void findPastBookingsByBookerTest() {
         when(bookingRepository.findByBooker_IdAndEndIsBefore(any(), any(), any()))
-                .thenReturn(Page.empty());
+                .thenReturn(List.of());
 
         List<BookingDto> result = bookingService.findAllByBooker(1L, "PAST", PageRequest.of(0, 10));
 
         assertThat(result, notNullValue());
         assertThat("isEmpty", result.isEmpty());
         verify(bookingRepository, times(1)).findByBooker_IdAndEndIsBefore(any(), any(), any());
-        verify(userRepository, times(1)).findById(user.getId());
+        verify(userRepository, times(1)).existsById(user.getId());
     }
 
     @Test
     void findFutureBookingsByBookerTest() {
         when(bookingRepository.findByBooker_IdAndStartIsAfter(any(), any(), any()))
-                .thenReturn(Page.empty());
+                .thenReturn(List.of());
 
         List<BookingDto> result = bookingService.findAllByBooker(1L, "FUTURE", PageRequest.of(0, 10));
 
         assertThat(result, notNullValue());
         assertThat("isEmpty", result.isEmpty());
         verify(bookingRepository, times(1)).findByBooker_IdAndStartIsAfter(any(), any(), any());
-        verify(userRepository, times(1)).findById(user.getId());
+        verify(userRepository, times(1)).existsById(user.getId());
     }
 
     @Test
     void findCurrentBookingsByBookerTest() {
         when(bookingRepository.findByBooker_IdAndStartIsBeforeAndEndIsAfter(any(), any(), any(), any()))
-                .thenReturn(Page.empty());
+                .thenReturn(List.of());
 
         List<BookingDto> result = bookingService.findAllByBooker(1L, "CURRENT", PageRequest.of(0, 10));
 
@@ -102,13 +115,13 @@ public class BookingServiceImplTest {
         assertThat("isEmpty", result.isEmpty());
         verify(bookingRepository, times(1)).findByBooker_IdAndStartIsBeforeAndEndIsAfter(any(),
                 any(), any(), any());
-        verify(userRepository, times(1)).findById(user.getId());
+        verify(userRepository, times(1)).existsById(user.getId());
     }
 
     @Test
     void findWaitingBookingsByBookerTest() {
         when(bookingRepository.findByBooker_IdAndStartIsAfterAndStatusIs(any(), any(), any(), any()))
-                .thenReturn(Page.empty());
+                .thenReturn(List.of());
 
         List<BookingDto> result = bookingService.findAllByBooker(1L, "WAITING", PageRequest.of(0, 10));
 
@@ -116,13 +129,13 @@ public class BookingServiceImplTest {
         assertThat("isEmpty", result.isEmpty());
         verify(bookingRepository, times(1)).findByBooker_IdAndStartIsAfterAndStatusIs(any(),
                 any(), any(), any());
-        verify(userRepository, times(1)).findById(user.getId());
+        verify(userRepository, times(1)).existsById(user.getId());
     }
 
     @Test
     void findRejectedBookingsByBookerTest() {
         when(bookingRepository.findByBooker_IdAndStartIsAfterAndStatusIs(any(), any(), any(), any()))
-                .thenReturn(Page.empty());
+                .thenReturn(List.of());
 
         List<BookingDto> result = bookingService.findAllByBooker(1L, "REJECTED", PageRequest.of(0, 10));
 
@@ -130,88 +143,85 @@ public class BookingServiceImplTest {
         assertThat("isEmpty", result.isEmpty());
         verify(bookingRepository, times(1)).findByBooker_IdAndStartIsAfterAndStatusIs(any(),
                 any(), any(), any());
-        verify(userRepository, times(1)).findById(user.getId());
+        verify(userRepository, times(1)).existsById(user.getId());
     }
 
     @Test
     void findAllOwnerBookingsTest() {
-        when(bookingRepository.findAllByItem_IdIn(any(), any()))
-                .thenReturn(Page.empty());
+        when(bookingRepository.findByOwner(any(), eq(BookingState.ALL), any(), any()))
+                .thenReturn(List.of());
 
         List<BookingDto> result = bookingService.findAllByOwner(1L, "ALL", PageRequest.of(0, 10));
 
         assertThat(result, notNullValue());
         assertThat("isEmpty", result.isEmpty());
-        verify(bookingRepository, times(1)).findAllByItem_IdIn(any(), any());
-        verify(userRepository, times(1)).findById(user.getId());
+        verify(bookingRepository, times(1)).findByOwner(any(), eq(BookingState.ALL), any(), any());
+        verify(userRepository, times(1)).existsById(user.getId());
     }
 
     @Test
     void findPastOwnerBookingsTest() {
-        when(bookingRepository.findByItem_IdInAndEndIsBefore(any(), any(), any()))
-                .thenReturn(Page.empty());
+        when(bookingRepository.findByOwner(any(), eq(BookingState.PAST), any(), any()))
+                .thenReturn(List.of());
 
         List<BookingDto> result = bookingService.findAllByOwner(1L, "PAST", PageRequest.of(0, 10));
 
         assertThat(result, notNullValue());
         assertThat("isEmpty", result.isEmpty());
-        verify(bookingRepository, times(1)).findByItem_IdInAndEndIsBefore(any(), any(), any());
-        verify(userRepository, times(1)).findById(user.getId());
+        verify(bookingRepository, times(1)).findByOwner(any(), eq(BookingState.PAST), any(), any());
+        verify(userRepository, times(1)).existsById(user.getId());
     }
 
     @Test
     void findFutureOwnerBookingsTest() {
-        when(bookingRepository.findByItem_IdInAndStartIsAfter(any(), any(), any()))
-                .thenReturn(Page.empty());
+        when(bookingRepository.findByOwner(any(), eq(BookingState.FUTURE), any(), any()))
+                .thenReturn(List.of());
 
         List<BookingDto> result = bookingService.findAllByOwner(1L, "FUTURE", PageRequest.of(0, 10));
 
         assertThat(result, notNullValue());
         assertThat("isEmpty", result.isEmpty());
-        verify(bookingRepository, times(1)).findByItem_IdInAndStartIsAfter(any(), any(), any());
-        verify(userRepository, times(1)).findById(user.getId());
+        verify(bookingRepository, times(1)).findByOwner(any(), eq(BookingState.FUTURE), any(), any());
+        verify(userRepository, times(1)).existsById(user.getId());
     }
 
     @Test
     void findCurrentOwnerBookingsTest() {
-        when(bookingRepository.findByItem_IdInAndStartIsBeforeAndEndIsAfter(any(), any(), any(), any()))
-                .thenReturn(Page.empty());
+        when(bookingRepository.findByOwner(any(), eq(BookingState.CURRENT), any(), any()))
+                .thenReturn(List.of());
 
         List<BookingDto> result = bookingService.findAllByOwner(1L, "CURRENT", PageRequest.of(0, 10));
 
         assertThat(result, notNullValue());
         assertThat("isEmpty", result.isEmpty());
-        verify(bookingRepository, times(1)).findByItem_IdInAndStartIsBeforeAndEndIsAfter(any(),
-                any(), any(), any());
-        verify(userRepository, times(1)).findById(user.getId());
+        verify(bookingRepository, times(1)).findByOwner(any(), eq(BookingState.CURRENT), any(), any());
+        verify(userRepository, times(1)).existsById(user.getId());
     }
 
     @Test
     void findWaitingOwnerBookingsTest() {
-        when(bookingRepository.findByItem_IdInAndStartIsAfterAndStatusIs(any(), any(), any(), any()))
-                .thenReturn(Page.empty());
+        when(bookingRepository.findByOwner(any(), eq(BookingState.WAITING), any(), any()))
+                .thenReturn(List.of());
 
         List<BookingDto> result = bookingService.findAllByOwner(1L, "WAITING", PageRequest.of(0, 10));
 
         assertThat(result, notNullValue());
         assertThat("isEmpty", result.isEmpty());
-        verify(bookingRepository, times(1)).findByItem_IdInAndStartIsAfterAndStatusIs(any(),
-                any(), any(), any());
-        verify(userRepository, times(1)).findById(user.getId());
+        verify(bookingRepository, times(1)).findByOwner(any(), eq(BookingState.WAITING), any(), any());
+        verify(userRepository, times(1)).existsById(user.getId());
     }
 
     @Test
     void findRejectedOwnerBookingsTest() {
-        when(bookingRepository.findByItem_IdInAndStartIsAfterAndStatusIs(any(), any(), any(), any()))
-                .thenReturn(Page.empty());
+        when(bookingRepository.findByOwner(any(), eq(BookingState.REJECTED), any(), any()))
+                .thenReturn(List.of());
 
         List<BookingDto> result = bookingService.findAllByOwner(1L, "REJECTED", PageRequest.of(0, 10));
 
         assertThat(result, notNullValue());
         assertThat("isEmpty", result.isEmpty());
-        verify(bookingRepository, times(1)).findByItem_IdInAndStartIsAfterAndStatusIs(any(),
-                any(), any(), any());
-        verify(userRepository, times(1)).findById(user.getId());
+        verify(bookingRepository, times(1)).findByOwner(any(), eq(BookingState.REJECTED), any(), any());
+        verify(userRepository, times(1)).existsById(user.getId());
     }
 
     @Test
@@ -231,14 +241,58 @@ public class BookingServiceImplTest {
         item.setOwner(user);
         item.setIsAvailable(true);
 
-        when(itemRepository.findById(bookingRequestDto.getItemId()))
+        when(itemRepository.findByIdForUpdate(bookingRequestDto.getItemId()))
                 .thenReturn(Optional.of(item));
 
         BookingDto result = bookingService.create(bookingRequestDto, userId);
 
         assertThat(result, notNullValue());
         verify(userRepository, times(1)).findById(userId);
-        verify(itemRepository, times(1)).findById(1L);
+        verify(itemRepository, times(1)).findByIdForUpdate(1L);
+        verify(itemAvailability, times(1)).isFree(3L, bookingRequestDto.getStart().truncatedTo(ChronoUnit.MICROS),
+                bookingRequestDto.getEnd().truncatedTo(ChronoUnit.MICROS));
+        verify(itemAvailability, times(1)).reserve(any());
+    }
+
+    @Test
+    void createOverlappingBookingTest() {
+        long userId = 1L;
+        User owner = new User();
+        owner.setId(2L);
+        Item item = new Item();
+        item.setId(3L);
+        item.setOwner(owner);
+        item.setIsAvailable(true);
+        when(itemRepository.findByIdForUpdate(anyLong()))
+                .thenReturn(Optional.of(item));
+        when(itemAvailability.isFree(any(), any(), any()))
+                .thenReturn(false);
+        BookingRequestDto bookingRequestDto = new BookingRequestDto(3L, LocalDateTime.now().plusDays(1),
+                LocalDateTime.now().plusDays(2));
+
+        Assertions.assertThrows(NotFoundEntityExeption.class, () -> bookingService.create(bookingRequestDto, userId));
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    void createBookingOverlappingInDatabaseTest() {
+        long userId = 1L;
+        User owner = new User();
+        owner.setId(2L);
+        Item item = new Item();
+        item.setId(3L);
+        item.setOwner(owner);
+        item.setIsAvailable(true);
+        when(itemRepository.findByIdForUpdate(anyLong()))
+                .thenReturn(Optional.of(item));
+        when(bookingRepository.existsByItem_IdAndStatusInAndStartIsBeforeAndEndIsAfter(anyLong(), any(), any(), any()))
+                .thenReturn(true);
+        BookingRequestDto bookingRequestDto = new BookingRequestDto(3L, LocalDateTime.now().plusDays(1),
+                LocalDateTime.now().plusDays(2));
+
+        Assertions.assertThrows(NotFoundEntityExeption.class, () -> bookingService.create(bookingRequestDto, userId));
+        verify(bookingRepository, never()).save(any());
+        verify(itemAvailability, times(1)).evict(List.of(3L));
     }
 
     @Test
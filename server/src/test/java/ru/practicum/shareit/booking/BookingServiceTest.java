@@ -1,6 +1,7 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
@@ -8,22 +9,34 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.availability.ItemAvailability;
+import ru.practicum.shareit.booking.summary.ItemBookingSummaries;
+import ru.practicum.shareit.exception.NotFoundEntityExeption;
 import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserIdIndex;
 import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.util.SqlAssert;
+
+import javax.persistence.EntityManager;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.notNullValue;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
 
 @Transactional
 @AutoConfigureTestDatabase
 @SpringBootTest(
-        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "shareit.booking-summary.roll-forward.enabled=false")
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 public class BookingServiceTest {
     private final ItemRepository itemRepository;
@@ -32,6 +45,16 @@ public class BookingServiceTest {
 
     private final BookingRepository bookingRepository;
 
+    private final ItemAvailability itemAvailability;
+
+    private final UserIdIndex userIdIndex;
+
+    private final ItemBookingSummaries itemBookingSummaries;
+
+    private final UserService userService;
+
+    private final EntityManager entityManager;
+
     private BookingService bookingService;
     private User user;
     private User owner;
@@ -39,7 +62,8 @@ public class BookingServiceTest {
 
     @BeforeEach
     public void setUp() {
-        bookingService = new BookingServiceImpl(itemRepository, userRepository, bookingRepository);
+        bookingService = new BookingServiceImpl(itemRepository, userRepository, bookingRepository, itemAvailability,
+                userIdIndex, itemBookingSummaries);
         user = new User();
         user.setName("TestUser1");
         user.setEmail("Test@mail1.ru");
@@ -65,6 +89,72 @@ public class BookingServiceTest {
         assertThat(result.getItem().getId(), equalTo(bookingRequestDto.getItemId()));
     }
 
+    @Test
+    void createOverlappingBookingTest() {
+        bookingService.create(bookingRequestDto, user.getId());
+        BookingRequestDto overlapping = new BookingRequestDto(bookingRequestDto.getItemId(),
+                bookingRequestDto.getStart().plusHours(12), bookingRequestDto.getEnd().plusHours(12));
+        BookingRequestDto adjacent = new BookingRequestDto(bookingRequestDto.getItemId(),
+                bookingRequestDto.getEnd(), bookingRequestDto.getEnd().plusDays(1));
+
+        Assertions.assertThrows(NotFoundEntityExeption.class, () -> bookingService.create(overlapping, user.getId()));
+        assertThat(bookingService.create(adjacent, user.getId()), notNullValue());
+    }
+
+    @Test
+    void createOverlappingBookingWrittenOutsideCalendarTest() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        Assertions.assertTrue(itemAvailability.isFree(bookingRequestDto.getItemId(), start, start.plusDays(1)));
+        Booking booking = new Booking();
+        booking.setStart(start);
+        booking.setEnd(start.plusDays(1));
+        booking.setItem(itemRepository.findById(bookingRequestDto.getItemId()).orElseThrow());
+        booking.setBooker(user);
+        booking.setStatus(Status.WAITING);
+        bookingRepository.save(booking);
+        BookingRequestDto overlapping = new BookingRequestDto(bookingRequestDto.getItemId(), start.plusHours(12),
+                start.plusDays(2));
+
+        Assertions.assertThrows(NotFoundEntityExeption.class, () -> bookingService.create(overlapping, user.getId()));
+    }
+
+    @Test
+    void deleteBookerFreesCalendarTest() {
+        bookingService.create(bookingRequestDto, user.getId());
+        Assertions.assertFalse(itemAvailability.isFree(bookingRequestDto.getItemId(), bookingRequestDto.getStart(),
+                bookingRequestDto.getEnd()));
+
+        userService.deleteUser(user.getId());
+        entityManager.flush();
+
+        Assertions.assertTrue(itemAvailability.isFree(bookingRequestDto.getItemId(), bookingRequestDto.getStart(),
+                bookingRequestDto.getEnd()));
+    }
+
+    @Test
+    void createAllBookingsTest() {
+        List<BookingRequestDto> requests = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            requests.add(new BookingRequestDto(bookingRequestDto.getItemId(),
+                    bookingRequestDto.getStart().plusDays(i), bookingRequestDto.getStart().plusDays(i + 1)));
+        }
+
+        List<BookingDto> result = bookingService.createAll(requests, user.getId());
+
+        assertThat(result.size(), equalTo(3));
+        assertThat(result.get(2).getStart(), equalTo(requests.get(2).getStart().truncatedTo(ChronoUnit.MICROS)));
+        assertThat(bookingService.findAllByBooker(user.getId(), "ALL", PageRequest.of(0, 10)).size(), equalTo(3));
+    }
+
+    @Test
+    void createAllOverlappingBookingsTest() {
+        BookingRequestDto overlapping = new BookingRequestDto(bookingRequestDto.getItemId(),
+                bookingRequestDto.getStart().plusHours(12), bookingRequestDto.getEnd().plusHours(12));
+
+        Assertions.assertThrows(NotFoundEntityExeption.class,
+                () -> bookingService.createAll(List.of(bookingRequestDto, overlapping), user.getId()));
+    }
+
     @Test
     void updateBookingTest() {
         Long bookingId = bookingService.create(bookingRequestDto, user.getId()).getId();
@@ -100,4 +190,79 @@ public class BookingServiceTest {
         assertThat(result, notNullValue());
         assertThat(result.size(), equalTo(1));
     }
+
+    @Test
+    void findAllByBookerStatementCountTest() {
+        bookingService.create(bookingRequestDto, user.getId());
+        bookingService.create(new BookingRequestDto(bookingRequestDto.getItemId(), bookingRequestDto.getEnd(),
+                bookingRequestDto.getEnd().plusDays(1)), user.getId());
+
+        List<BookingDto> byBooker = SqlAssert.measure(entityManager,
+                        () -> bookingService.findAllByBooker(user.getId(), "ALL", PageRequest.of(0, 10)))
+                .statements(1)
+                .rows(2)
+                .noLazyFetches()
+                .loaded(Booking.class, 0)
+                .loaded(Item.class, 0)
+                .result();
+        List<BookingDto> byOwner = SqlAssert.measure(entityManager,
+                        () -> bookingService.findAllByOwner(owner.getId(), "ALL", PageRequest.of(0, 10)))
+                .statements(1)
+                .rows(2)
+                .noLazyFetches()
+                .loaded(Booking.class, 0)
+                .result();
+
+        assertThat(byBooker.size(), equalTo(2));
+        assertThat(byOwner.get(0).getBooker().getName(), equalTo(user.getName()));
+    }
+
+    @Test
+    void findAllByUnknownUserTest() {
+        long unknownId = owner.getId() + 1000;
+
+        Assertions.assertThrows(NotFoundException.class,
+                () -> bookingService.findAllByBooker(unknownId, "ALL", PageRequest.of(0, 10)));
+        Assertions.assertThrows(NotFoundException.class,
+                () -> bookingService.findAllByOwner(unknownId, "ALL", PageRequest.of(0, 10)));
+        assertThat(bookingService.findAllByOwner(user.getId(), "ALL", PageRequest.of(0, 10)).size(), equalTo(0));
+    }
+
+    @Test
+    void exportAllByOwnerTest() {
+        List<BookingRequestDto> requests = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            requests.add(new BookingRequestDto(bookingRequestDto.getItemId(),
+                    bookingRequestDto.getStart().plusDays(i), bookingRequestDto.getStart().plusDays(i + 1)));
+        }
+        List<BookingDto> created = bookingService.createAll(requests, user.getId());
+        LocalDateTime rangeStart = requests.get(1).getStart().plusHours(1);
+        LocalDateTime rangeEnd = requests.get(2).getStart().plusHours(1);
+
+        List<BookingDto> all = new ArrayList<>();
+        bookingService.exportAllByOwner(owner.getId(), "ALL", null, null, all::add);
+        List<BookingDto> inRange = SqlAssert.measure(entityManager, () -> {
+                    List<BookingDto> bookings = new ArrayList<>();
+                    bookingService.exportAllByOwner(owner.getId(), "ALL", rangeStart, rangeEnd, bookings::add);
+                    return bookings;
+                })
+                .statementsAtMost(2)
+                .noLazyFetches()
+                .loaded(Booking.class, 0)
+                .result();
+
+        assertThat(all.size(), equalTo(3));
+        assertThat(all.get(0).getId(), equalTo(created.get(2).getId()));
+        assertThat(inRange.size(), equalTo(2));
+        assertThat(inRange.get(1).getId(), equalTo(created.get(1).getId()));
+    }
+
+    @Test
+    void exportAllByOwnerWrongRangeTest() {
+        LocalDateTime date = LocalDateTime.now();
+
+        Assertions.assertThrows(NotFoundEntityExeption.class,
+                () -> bookingService.exportAllByOwner(owner.getId(), "ALL", date, date, booking -> {
+                }));
+    }
 }
@@ -0,0 +1,75 @@
+package ru.practicum.shareit.booking.availability;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+public class ItemCalendarTest {
+    private ItemCalendar calendar;
+
+    @BeforeEach
+    public void addEnvironsForAll() {
+        calendar = new ItemCalendar();
+        calendar.add(1L, 10, 20);
+        calendar.add(2L, 40, 50);
+        calendar.add(3L, 12, 35);
+    }
+
+    @Test
+    void overlapsTest() {
+        assertThat(calendar.overlaps(30, 38), equalTo(true));
+        assertThat(calendar.overlaps(0, 11), equalTo(true));
+        assertThat(calendar.overlaps(49, 60), equalTo(true));
+        assertThat(calendar.overlaps(35, 40), equalTo(false));
+        assertThat(calendar.overlaps(0, 10), equalTo(false));
+        assertThat(calendar.overlaps(50, 60), equalTo(false));
+    }
+
+    @Test
+    void freeSlotsTest() {
+        assertThat(slots(calendar.freeSlots(0, 100)), equalTo(List.of("0-10", "35-40", "50-100")));
+        assertThat(slots(calendar.freeSlots(15, 45)), equalTo(List.of("35-40")));
+        assertThat(slots(calendar.freeSlots(21, 30)), equalTo(List.of()));
+    }
+
+    @Test
+    void removeTest() {
+        calendar.remove(3L);
+
+        assertThat(calendar.size(), equalTo(2));
+        assertThat(calendar.overlaps(30, 38), equalTo(false));
+        assertThat(slots(calendar.freeSlots(0, 100)), equalTo(List.of("0-10", "20-40", "50-100")));
+    }
+
+    @Test
+    void horizonSkipsFinishedIntervalsTest() {
+        ItemCalendar bounded = new ItemCalendar(20);
+        bounded.add(1L, 10, 20);
+        bounded.add(2L, 15, 30);
+
+        assertThat(bounded.size(), equalTo(1));
+        assertThat(bounded.overlaps(25, 26), equalTo(true));
+    }
+
+    @Test
+    void addManyTest() {
+        for (int i = 0; i < 100; i++) {
+            calendar.add(100L + i, 1000 + i * 10, 1005 + i * 10);
+        }
+
+        assertThat(calendar.size(), equalTo(103));
+        assertThat(calendar.overlaps(1503, 1504), equalTo(true));
+        assertThat(calendar.overlaps(1505, 1510), equalTo(false));
+    }
+
+    private List<String> slots(List<long[]> slots) {
+        return slots.stream()
+                .map(slot -> slot[0] + "-" + slot[1])
+                .collect(Collectors.toList());
+    }
+}
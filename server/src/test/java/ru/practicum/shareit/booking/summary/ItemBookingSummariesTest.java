@@ -0,0 +1,139 @@
+package ru.practicum.shareit.booking.summary;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingDto;
+import ru.practicum.shareit.booking.BookingItemView;
+import ru.practicum.shareit.booking.BookingRequestDto;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.util.SqlAssert;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+
+@Transactional
+@AutoConfigureTestDatabase
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "shareit.booking-summary.roll-forward.enabled=false")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class ItemBookingSummariesTest {
+    private final ItemBookingSummaries itemBookingSummaries;
+    private final ItemBookingSummaryRepository summaryRepository;
+    private final BookingService bookingService;
+    private final UserService userService;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+    private User booker;
+    private User owner;
+    private Item item;
+
+    @BeforeEach
+    public void setUp() {
+        booker = new User();
+        booker.setName("bookerNameTest");
+        booker.setEmail("bookerTest@mail.ru");
+        owner = new User();
+        owner.setName("ownerNameTest");
+        owner.setEmail("ownerTest@mail.ru");
+        userRepository.save(booker);
+        userRepository.save(owner);
+        item = new Item();
+        item.setName("itemNameTest");
+        item.setDescription("itemDescriptionTest");
+        item.setIsAvailable(Boolean.TRUE);
+        item.setOwner(owner);
+        itemRepository.save(item);
+    }
+
+    @Test
+    void approveRefreshesSummaryTest() {
+        BookingDto booking = book(1, 2);
+        BookingDto rejected = book(3, 4);
+
+        bookingService.update(booking.getId(), owner.getId(), true);
+        bookingService.update(rejected.getId(), owner.getId(), false);
+
+        ItemBookingSummary summary = summaryRepository.findById(item.getId()).orElseThrow();
+        assertThat(summary.getNextBookingId(), equalTo(booking.getId()));
+        assertThat(summary.getNextBookerId(), equalTo(booker.getId()));
+        assertThat(summary.getLastBookingId(), nullValue());
+    }
+
+    @Test
+    void findLastAndNextSingleLookupTest() {
+        BookingDto booking = book(1, 2);
+        bookingService.update(booking.getId(), owner.getId(), true);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<BookingItemView> result = SqlAssert.measure(entityManager,
+                        () -> itemBookingSummaries.findLastAndNext(List.of(item.getId())))
+                .statements(1)
+                .result();
+
+        assertThat(result.size(), equalTo(1));
+        assertThat(result.get(0).getId(), equalTo(booking.getId()));
+        assertThat(result.get(0).getLast(), equalTo(false));
+    }
+
+    @Test
+    void rollForwardTest() {
+        BookingDto booking = book(1, 2);
+        bookingService.update(booking.getId(), owner.getId(), true);
+        entityManager.flush();
+        // бронь наступила: даты сдвинуты в прошлое вместе со сводкой, как если бы прошло время
+        LocalDateTime start = LocalDateTime.now().minusHours(2);
+        jdbcTemplate.update("UPDATE bookings SET start_date = ?, end_date = ? WHERE id = ?",
+                start, start.plusHours(1), booking.getId());
+        jdbcTemplate.update("UPDATE item_booking_summary SET next_start = ? WHERE item_id = ?", start, item.getId());
+        entityManager.clear();
+
+        List<BookingItemView> stale = itemBookingSummaries.findLastAndNext(List.of(item.getId()));
+        int rolled = itemBookingSummaries.rollForward();
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(stale.size(), equalTo(1));
+        assertThat(stale.get(0).getLast(), equalTo(true));
+        assertThat(rolled, equalTo(1));
+        ItemBookingSummary summary = summaryRepository.findById(item.getId()).orElseThrow();
+        assertThat(summary.getLastBookingId(), equalTo(booking.getId()));
+        assertThat(summary.getNextBookingId(), nullValue());
+    }
+
+    @Test
+    void deleteBookerRefreshesSummaryTest() {
+        BookingDto booking = book(1, 2);
+        bookingService.update(booking.getId(), owner.getId(), true);
+
+        userService.deleteUser(booker.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat("isEmpty", summaryRepository.findById(item.getId()).isEmpty());
+    }
+
+    private BookingDto book(int startDays, int endDays) {
+        return bookingService.create(new BookingRequestDto(item.getId(), LocalDateTime.now().plusDays(startDays),
+                LocalDateTime.now().plusDays(endDays)), booker.getId());
+    }
+}
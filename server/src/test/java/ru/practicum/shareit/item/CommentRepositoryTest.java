@@ -7,9 +7,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import ru.practicum.shareit.item.comment.Comment;
+import ru.practicum.shareit.item.comment.CommentItemDto;
 import ru.practicum.shareit.item.comment.CommentRepository;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.util.SqlAssert;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -62,4 +64,28 @@ public class CommentRepositoryTest {
         assertThat(result, notNullValue());
         assertThat(result.size(), equalTo(1));
     }
+
+    @Test
+    void findAllByItemIdInTest() {
+        List<CommentItemDto> result = SqlAssert.measure(testEntityManager.getEntityManager(),
+                        () -> commentRepository.findAllByItemIdIn(List.of(item.getId())))
+                .statements(1)
+                .rows(1)
+                .loaded(Comment.class, 0)
+                .loaded(User.class, 0)
+                .result();
+
+        assertThat(result, notNullValue());
+        assertThat(result.size(), equalTo(1));
+        assertThat(result.get(0).getItemId(), equalTo(item.getId()));
+        assertThat(result.get(0).getAuthorName(), equalTo("userNameTest"));
+    }
+
+    @Test
+    void findAllByItemIdInWithoutCommentsTest() {
+        List<CommentItemDto> result = commentRepository.findAllByItemIdIn(List.of(item.getId() + 1));
+
+        assertThat(result, notNullValue());
+        assertThat(result.size(), equalTo(0));
+    }
 }
@@ -11,12 +11,17 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.FreeSlotDto;
 import ru.practicum.shareit.item.comment.CommentDto;
 import ru.practicum.shareit.item.comment.CommentDtoResponse;
+import ru.practicum.shareit.util.PageCursor;
 
+import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -83,6 +88,21 @@ public class ItemControllerTest {
         verify(itemService, times(1)).create(any(), anyLong());
     }
 
+    @Test
+    void createAllItemsTest() throws Exception {
+        when(itemService.createAll(anyList(), anyLong()))
+                .thenReturn(List.of(itemDto, itemDto));
+
+        mockMvc.perform(post("/items/batch")
+                        .content(objectMapper.writeValueAsString(List.of(itemDto, itemDto)))
+                        .header(X_SHARER_USER_ID, 1)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(itemDto.getId()));
+        verify(itemService, times(1)).createAll(anyList(), anyLong());
+    }
+
     @Test
     void updateItemTest() throws Exception {
         itemDto.setName("testName");
@@ -128,9 +148,26 @@ public class ItemControllerTest {
         verify(itemService, times(1)).findAllItemsOwner(userId, page);
     }
 
+    @Test
+    void findAllItemsWithCursorTest() throws Exception {
+        PageCursor cursor = PageCursor.of(5L);
+        when(itemService.findAllItemsOwner(userId, cursor, 1))
+                .thenReturn(List.of(itemDtoBooking));
+
+        mockMvc.perform(get("/items?size=1")
+                        .param("cursor", cursor.encode())
+                        .header(X_SHARER_USER_ID, userId)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(itemDtoBooking.getId()))
+                .andExpect(header().string("X-Next-Cursor", PageCursor.of(itemDtoBooking.getId()).encode()));
+        verify(itemService, times(1)).findAllItemsOwner(userId, cursor, 1);
+    }
+
     @Test
     void searchItemsTest() throws Exception {
         String text = "testName";
+        PageRequest page = PageRequest.of(0, 10);
         when(itemService.searchItem(userId, text, page))
                 .thenReturn(Collections.emptyList());
         mockMvc.perform(get("/items/search?from=0&size=10&text=testName")
@@ -141,6 +178,24 @@ public class ItemControllerTest {
         verify(itemService, times(1)).searchItem(userId, text, page);
     }
 
+    @Test
+    void findFreeSlotsTest() throws Exception {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 10, 0);
+        LocalDateTime end = start.plusDays(1);
+        when(itemService.findFreeSlots(userId, 1L, start, end))
+                .thenReturn(List.of(new FreeSlotDto(start, end)));
+
+        mockMvc.perform(get("/items/{itemId}/availability", 1L)
+                        .param("start", "2030-01-01T10:00:00")
+                        .param("end", "2030-01-02T10:00:00")
+                        .header(X_SHARER_USER_ID, userId)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].start").value("2030-01-01T10:00:00"))
+                .andExpect(jsonPath("$[0].end").value("2030-01-02T10:00:00"));
+        verify(itemService, times(1)).findFreeSlots(userId, 1L, start, end);
+    }
+
     @Test
     void createCommentTest() throws Exception {
         userId = 2L;
@@ -16,6 +16,7 @@ import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.util.SqlAssert;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -97,21 +98,96 @@ public class ItemRepositoryTest {
 
     @Test
     void searchTest() {
-        List<Item> result = itemRepository.search(
-                        "itemNameTest", "itemNameTest", page)
-                .stream()
-                .collect(Collectors.toList());
+        List<Item> result = SqlAssert.measure(testEntityManager.getEntityManager(), () -> {
+                    List<Item> items = itemRepository.search("itemnametest", owner.getId(), page);
+                    items.forEach(found -> found.getOwner().getName());
+                    return items;
+                })
+                .statements(1)
+                .rows(1)
+                .noLazyFetches()
+                .result();
 
         assertThat(result, notNullValue());
         assertThat(result.size(), equalTo(1));
     }
 
+    @Test
+    void searchByUnknownUserTest() {
+        List<Item> result = itemRepository.search("itemnametest", owner.getId() + 1000, page);
+
+        assertThat("isEmpty", result.isEmpty());
+    }
+
+    @Test
+    void findAllByOwnerIdAfterTest() {
+        Item item = itemRepository.findAllByOwnerId(owner.getId()).get(0);
+
+        List<Item> fromStart = itemRepository.findAllByOwnerIdAfter(owner.getId(), 0L, page);
+        List<Item> afterLast = itemRepository.findAllByOwnerIdAfter(owner.getId(), item.getId(), page);
+
+        assertThat(fromStart.size(), equalTo(1));
+        assertThat("isEmpty", afterLast.isEmpty());
+    }
+
+    @Test
+    void searchAfterTest() {
+        Item item = itemRepository.findAllByOwnerId(owner.getId()).get(0);
+
+        List<Item> fromStart = itemRepository.searchAfter("itemnametest", SearchRank.EXACT_NAME, 0L, owner.getId(), page);
+        List<Item> afterLast = itemRepository.searchAfter("itemnametest", SearchRank.EXACT_NAME, item.getId(),
+                owner.getId(), page);
+
+        assertThat(fromStart.size(), equalTo(1));
+        assertThat("isEmpty", afterLast.isEmpty());
+    }
+
+    @Test
+    void searchRelevanceOrderTest() {
+        Item description = addItem("Hammer", "Works like a drill", true);
+        Item contains = addItem("Power drill", "Cordless", true);
+        Item prefix = addItem("Drill press", "Bench tool", true);
+        Item exact = addItem("DRILL", "Plain", true);
+        addItem("Drill", "Broken", false);
+
+        List<Item> result = itemRepository.search("drill", owner.getId(), page);
+
+        assertThat(result.stream().map(Item::getId).collect(Collectors.toList()),
+                equalTo(List.of(exact.getId(), prefix.getId(), contains.getId(), description.getId())));
+    }
+
+    @Test
+    void searchAfterAcrossRanksTest() {
+        Item description = addItem("Hammer", "Works like a drill", true);
+        Item contains = addItem("Power drill", "Cordless", true);
+        Item prefix = addItem("Drill press", "Bench tool", true);
+
+        List<Item> first = itemRepository.searchAfter("drill", SearchRank.EXACT_NAME, 0L, owner.getId(),
+                PageRequest.of(0, 2));
+        Item last = first.get(first.size() - 1);
+        List<Item> second = itemRepository.searchAfter("drill", SearchRank.of(last.getName(), "drill"), last.getId(),
+                owner.getId(), PageRequest.of(0, 2));
+
+        assertThat(first.stream().map(Item::getId).collect(Collectors.toList()),
+                equalTo(List.of(prefix.getId(), contains.getId())));
+        assertThat(second.stream().map(Item::getId).collect(Collectors.toList()),
+                equalTo(List.of(description.getId())));
+    }
+
     @Test
     void findAllByRequestIdInTest() {
-        List<Item> result = itemRepository.findAllByRequestIdIn(List.of(itemRequest.getId()));
+        List<ItemDto> result = SqlAssert.measure(testEntityManager.getEntityManager(),
+                        () -> itemRepository.findAllByRequestIdIn(List.of(itemRequest.getId())))
+                .statements(1)
+                .rows(1)
+                .noLazyFetches()
+                .loaded(Item.class, 0)
+                .result();
 
         assertThat(result, notNullValue());
         assertThat(result.size(), equalTo(1));
+        assertThat(result.get(0).getRequestId(), equalTo(itemRequest.getId()));
+        assertThat(result.get(0).getOwner().getName(), equalTo(owner.getName()));
     }
 
     @Test
@@ -129,4 +205,13 @@ public class ItemRepositoryTest {
         assertThat(result, notNullValue());
         assertThat(result.size(), equalTo(1));
     }
+
+    private Item addItem(String name, String description, boolean available) {
+        Item item = new Item();
+        item.setName(name);
+        item.setDescription(description);
+        item.setIsAvailable(available);
+        item.setOwner(owner);
+        return itemRepository.save(item);
+    }
 }
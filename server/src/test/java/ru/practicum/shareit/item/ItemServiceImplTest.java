@@ -9,16 +9,21 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
-import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingItemView;
 import ru.practicum.shareit.booking.BookingRepository;
-import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.FreeSlotDto;
+import ru.practicum.shareit.booking.availability.ItemAvailability;
+import ru.practicum.shareit.booking.summary.ItemBookingSummaries;
 import ru.practicum.shareit.exception.NotFoundEntityExeption;
 import ru.practicum.shareit.item.comment.Comment;
 import ru.practicum.shareit.item.comment.CommentDto;
+import ru.practicum.shareit.item.comment.CommentItemDto;
 import ru.practicum.shareit.item.comment.CommentRepository;
+import ru.practicum.shareit.item.search.ItemSearch;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserIdIndex;
 import ru.practicum.shareit.user.UserRepository;
 
 import java.time.LocalDateTime;
@@ -27,7 +32,9 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -44,12 +51,19 @@ public class ItemServiceImplTest {
     private final CommentRepository commentRepository;
     @Mock
     private final ItemRequestRepository itemRequestRepository;
+    @Mock
+    private final ItemSearch itemSearch;
+    @Mock
+    private final ItemAvailability itemAvailability;
+    @Mock
+    private final ItemBookingSummaries itemBookingSummaries;
     private ItemService itemService;
     private User user;
 
     @BeforeEach
     public void addEnvironsForAll() {
-        itemService = new ItemServiceImpl(itemRepository, userRepository, bookingRepository, commentRepository, itemRequestRepository);
+        itemService = new ItemServiceImpl(itemRepository, userRepository, bookingRepository, commentRepository, itemRequestRepository,
+                itemSearch, itemAvailability, new UserIdIndex(userRepository), itemBookingSummaries);
         user = new User();
         user.setId(1L);
         user.setName("userNameTest");
@@ -79,6 +93,7 @@ public class ItemServiceImplTest {
         assertThat(result, notNullValue());
         verify(userRepository, times(1)).findById(anyLong());
         verify(itemRequestRepository, times(1)).findById(anyLong());
+        verify(itemSearch, times(1)).index(any());
     }
 
     @Test
@@ -97,6 +112,7 @@ public class ItemServiceImplTest {
         assertThat(result, notNullValue());
         verify(userRepository, times(1)).existsById(anyLong());
         verify(itemRepository, times(1)).findById(anyLong());
+        verify(itemSearch, times(1)).index(item);
     }
 
     @Test
@@ -106,36 +122,34 @@ public class ItemServiceImplTest {
         item.setOwner(user);
         when(itemRepository.findById(anyLong()))
                 .thenReturn(Optional.of(item));
-        when(userRepository.existsById(anyLong()))
-                .thenReturn(true);
 
         User booker = new User();
         booker.setId(88L);
 
-        Booking booking = new Booking();
-        booking.setId(1L);
-        booking.setStart(LocalDateTime.now().plusDays(1));
-        booking.setEnd(LocalDateTime.now().plusDays(2));
-        booking.setItem(item);
-        booking.setStatus(Status.APPROVED);
-        booking.setBooker(booker);
-        when(bookingRepository.findByItem_IdAndStatusIs(anyLong(), any()))
+        BookingItemView booking = mock(BookingItemView.class);
+        when(booking.getId()).thenReturn(1L);
+        when(booking.getItemId()).thenReturn(item.getId());
+        when(booking.getBookerId()).thenReturn(booker.getId());
+        when(booking.getStart()).thenReturn(LocalDateTime.now().plusDays(1));
+        when(booking.getEnd()).thenReturn(LocalDateTime.now().plusDays(2));
+        when(booking.getLast()).thenReturn(false);
+        when(itemBookingSummaries.findLastAndNext(anyList()))
                 .thenReturn(List.of(booking));
 
-        Comment comment = new Comment();
-        comment.setId(1L);
-        comment.setItem(item);
-        comment.setAuthor(booker);
-        when(commentRepository.findAllByItemId(anyLong()))
+        CommentItemDto comment = new CommentItemDto(item.getId(), 1L, "commentTextTest", booker.getName(),
+                LocalDateTime.now());
+        when(commentRepository.findAllByItemIdIn(anyList()))
                 .thenReturn(List.of(comment));
 
         ItemDtoBooking result = itemService.findItemById(item.getId(), user.getId());
 
         assertThat(result, notNullValue());
-        verify(userRepository, times(1)).existsById(anyLong());
+        assertThat(result.getNextBooking().getBookerId(), equalTo(booker.getId()));
+        assertThat(result.getLastBooking(), nullValue());
+        verify(userRepository, never()).existsById(anyLong());
         verify(itemRepository, times(1)).findById(anyLong());
-        verify(commentRepository, times(1)).findAllByItemId(anyLong());
-        verify(bookingRepository, times(1)).findByItem_IdAndStatusIs(anyLong(), any());
+        verify(commentRepository, times(1)).findAllByItemIdIn(List.of(item.getId()));
+        verify(itemBookingSummaries, times(1)).findLastAndNext(anyList());
     }
 
     @Test
@@ -144,37 +158,35 @@ public class ItemServiceImplTest {
         item.setId(1L);
         item.setOwner(user);
         when(itemRepository.findAllByOwnerId(anyLong(), any()))
-                .thenReturn(Page.empty());
-        when(userRepository.existsById(anyLong()))
-                .thenReturn(true);
-
-        User booker = new User();
-        booker.setId(56L);
-
-        Booking booking = new Booking();
-        booking.setId(1L);
-        booking.setStart(LocalDateTime.now().plusDays(1));
-        booking.setEnd(LocalDateTime.now().plusDays(2));
-        booking.setItem(item);
-        booking.setStatus(Status.APPROVED);
-        booking.setBooker(booker);
-        when(bookingRepository.findAllByItem_IdInAndStatusIs(anyList(), any()))
-                .thenReturn(Collections.emptyList());
+                .thenReturn(List.of(item));
+
+        BookingItemView booking = mock(BookingItemView.class);
+        when(booking.getId()).thenReturn(1L);
+        when(booking.getItemId()).thenReturn(item.getId());
+        when(booking.getBookerId()).thenReturn(56L);
+        when(booking.getStart()).thenReturn(LocalDateTime.now().minusDays(2));
+        when(booking.getEnd()).thenReturn(LocalDateTime.now().minusDays(1));
+        when(booking.getLast()).thenReturn(true);
+        when(itemBookingSummaries.findLastAndNext(anyList()))
+                .thenReturn(List.of(booking));
 
         List<ItemDtoBooking> result = itemService.findAllItemsOwner(user.getId(), PageRequest.of(0, 10));
 
         assertThat(result, notNullValue());
-        assertThat("isEmpty", result.isEmpty());
-        verify(userRepository, times(1)).existsById(anyLong());
+        assertThat(result.size(), equalTo(1));
+        assertThat(result.get(0).getLastBooking().getId(), equalTo(1L));
+        assertThat(result.get(0).getNextBooking(), nullValue());
+        verify(userRepository, never()).existsById(anyLong());
         verify(itemRepository, times(1)).findAllByOwnerId(anyLong(), any());
-        verify(bookingRepository, times(1)).findAllByItem_IdInAndStatusIs(anyList(), any());
+        verify(itemBookingSummaries, times(1)).findLastAndNext(anyList());
+        verify(commentRepository, times(1)).findAllByItemIdIn(anyList());
+        verify(commentRepository, never()).findAll();
     }
 
     @Test
     void searchItemsTest() {
-        when(itemRepository.search(
-                anyString(), anyString(), any()))
-                .thenReturn(Page.empty());
+        when(itemSearch.search(anyString(), anyLong(), any()))
+                .thenReturn(Collections.emptyList());
         when(userRepository.existsById(anyLong()))
                 .thenReturn(true);
 
@@ -183,8 +195,34 @@ public class ItemServiceImplTest {
         assertThat(result, notNullValue());
         assertThat("isEmpty", result.isEmpty());
         verify(userRepository, times(1)).existsById(anyLong());
-        verify(itemRepository, times(1))
-                .search(anyString(), anyString(), any());
+        verify(itemSearch, times(1))
+                .search(eq("itemNameTest"), eq(user.getId()), any());
+    }
+
+    @Test
+    void findFreeSlotsTest() {
+        LocalDateTime start = LocalDateTime.now();
+        LocalDateTime end = start.plusDays(1);
+        when(userRepository.existsById(anyLong()))
+                .thenReturn(true);
+        when(itemRepository.existsById(anyLong()))
+                .thenReturn(true);
+        when(itemAvailability.findFreeSlots(2L, start, end))
+                .thenReturn(List.of(new FreeSlotDto(start, end)));
+
+        List<FreeSlotDto> result = itemService.findFreeSlots(user.getId(), 2L, start, end);
+
+        assertThat(result.size(), equalTo(1));
+        verify(itemAvailability, times(1)).findFreeSlots(2L, start, end);
+    }
+
+    @Test
+    void findFreeSlotsWrongRangeTest() {
+        LocalDateTime start = LocalDateTime.now();
+
+        Assertions.assertThrows(NotFoundEntityExeption.class,
+                () -> itemService.findFreeSlots(user.getId(), 2L, start, start));
+        verify(itemAvailability, never()).findFreeSlots(any(), any(), any());
     }
 
     @Test
@@ -1,27 +1,42 @@
 package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.FreeSlotDto;
 import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.availability.ItemAvailability;
+import ru.practicum.shareit.booking.summary.ItemBookingSummaries;
+import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.comment.Comment;
 import ru.practicum.shareit.item.comment.CommentDto;
 import ru.practicum.shareit.item.comment.CommentDtoResponse;
 import ru.practicum.shareit.item.comment.CommentRepository;
+import ru.practicum.shareit.item.search.ItemSearch;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserIdIndex;
 import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.util.SqlAssert;
 
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -32,7 +47,10 @@ import static ru.practicum.shareit.item.ItemMapper.dtoInItem;
 @Transactional
 @AutoConfigureTestDatabase
 @SpringBootTest(
-        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+        webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = {"spring.jpa.properties.hibernate.generate_statistics=true",
+                "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN",
+                "shareit.booking-summary.roll-forward.enabled=false"})
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 public class ItemServiceTest {
     private final ItemRepository itemRepository;
@@ -40,6 +58,13 @@ public class ItemServiceTest {
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
     private final ItemRequestRepository itemRequestRepository;
+    private final ItemSearch itemSearch;
+    private final ItemAvailability itemAvailability;
+    private final UserIdIndex userIdIndex;
+    private final ItemBookingSummaries itemBookingSummaries;
+    private final EntityManager entityManager;
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
     private ItemService itemService;
     private User user;
     private User owner;
@@ -50,7 +75,8 @@ public class ItemServiceTest {
 
     @BeforeEach
     public void addEnvironsForAll() {
-        itemService = new ItemServiceImpl(itemRepository, userRepository, bookingRepository, commentRepository, itemRequestRepository);
+        itemService = new ItemServiceImpl(itemRepository, userRepository, bookingRepository, commentRepository, itemRequestRepository,
+                itemSearch, itemAvailability, userIdIndex, itemBookingSummaries);
         user = new User();
         user.setName("userNameTest");
         user.setEmail("userTest@mail.ru");
@@ -89,6 +115,38 @@ public class ItemServiceTest {
         assertThat(result.getRequestId(), equalTo(itemRequest.getId()));
     }
 
+    @Test
+    void createAllItemsBatchesInsertsTest() {
+        List<ItemDto> itemDtos = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            itemDtos.add(itemDto);
+        }
+
+        List<ItemDto> result = SqlAssert.measure(entityManager, () -> {
+                    List<ItemDto> items = itemService.createAll(itemDtos, owner.getId());
+                    entityManager.flush();
+                    return items;
+                })
+                .statementsAtMost(6)
+                .result();
+
+        assertThat(result.size(), equalTo(60));
+        assertThat(result.get(59).getRequestId(), equalTo(itemRequest.getId()));
+        assertThat(itemRepository.findAllByRequestId(itemRequest.getId()).size(), equalTo(60));
+    }
+
+    @Test
+    void createAllItemsWithUnknownRequestTest() {
+        ItemDto unknownRequest = new ItemDto();
+        unknownRequest.setName("itemDtoNameTest");
+        unknownRequest.setDescription("itemDtoDescriptionTest");
+        unknownRequest.setAvailable(Boolean.TRUE);
+        unknownRequest.setRequestId(itemRequest.getId() + 1000);
+
+        Assertions.assertThrows(NotFoundException.class,
+                () -> itemService.createAll(List.of(itemDto, unknownRequest), owner.getId()));
+    }
+
     @Test
     void updateItemTest() {
         long itemId = itemService.create(itemDto, owner.getId()).getId();
@@ -101,6 +159,23 @@ public class ItemServiceTest {
         assertThat(result.getDescription(), equalTo(itemDto.getDescription()));
     }
 
+    @Test
+    void updateItemRefreshesEntityCacheTest() {
+        entityManager.flush();
+        jdbcTemplate.update("INSERT INTO items (name, description, available, owner_id) VALUES (?, ?, TRUE, ?)",
+                itemDto.getName(), itemDto.getDescription(), owner.getId());
+        long itemId = jdbcTemplate.queryForObject("SELECT id FROM items WHERE owner_id = ?", Long.class, owner.getId());
+        itemService.findItemById(itemId, owner.getId());
+        itemDto.setName("itemDtoCachedNameTest");
+        itemService.update(itemDto, owner.getId(), itemId);
+        entityManager.flush();
+        entityManager.clear();
+
+        ItemDtoBooking result = itemService.findItemById(itemId, owner.getId());
+
+        assertThat(result.getName(), equalTo("itemDtoCachedNameTest"));
+    }
+
     @Test
     void findItemByIdTest() {
         ItemDto itemResult = itemService.create(itemDto, owner.getId());
@@ -110,6 +185,8 @@ public class ItemServiceTest {
         comment.setItem(item);
         bookingRepository.save(booking);
         commentRepository.save(comment);
+        // бронь сохранена в обход подтверждения, сводку пересчитываем явно
+        itemBookingSummaries.refresh(List.of(item.getId()));
 
         ItemDtoBooking result = itemService.findItemById(item.getId(), owner.getId());
 
@@ -132,6 +209,90 @@ public class ItemServiceTest {
         assertThat(result.size(), equalTo(1));
     }
 
+    @Test
+    void findAllItemsOwnerDoesNotLoadForeignCommentsTest() {
+        ItemDto itemResult = itemService.create(itemDto, owner.getId());
+        Item item = dtoInItem(itemResult);
+        item.setId(itemResult.getId());
+        comment.setItem(item);
+        commentRepository.save(comment);
+        itemDto.setRequestId(null);
+        ItemDto foreignResult = itemService.create(itemDto, user.getId());
+        Item foreignItem = dtoInItem(foreignResult);
+        foreignItem.setId(foreignResult.getId());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+        itemService.findAllItemsOwner(owner.getId(), PageRequest.of(0, 10));
+        long statements = statistics.getPrepareStatementCount();
+        long loadedEntities = statistics.getEntityLoadCount();
+
+        for (int i = 0; i < 50; i++) {
+            Comment foreignComment = new Comment();
+            foreignComment.setText("foreignCommentTest" + i);
+            foreignComment.setAuthor(owner);
+            foreignComment.setItem(foreignItem);
+            commentRepository.save(foreignComment);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+        List<ItemDtoBooking> result = itemService.findAllItemsOwner(owner.getId(), PageRequest.of(0, 10));
+
+        assertThat(result.size(), equalTo(1));
+        assertThat(result.get(0).getComments().size(), equalTo(1));
+        assertThat(statistics.getPrepareStatementCount(), equalTo(statements));
+        assertThat(statistics.getEntityLoadCount(), equalTo(loadedEntities));
+        assertThat(statistics.getEntityStatistics(Comment.class.getName()).getLoadCount(), equalTo(0L));
+    }
+
+    @Test
+    void findAllItemsOwnerStatementCountTest() {
+        for (int i = 0; i < 3; i++) {
+            itemService.create(itemDto, owner.getId());
+        }
+
+        List<ItemDtoBooking> result = SqlAssert.measure(entityManager,
+                        () -> itemService.findAllItemsOwner(owner.getId(), PageRequest.of(0, 10)))
+                .statements(3)
+                .rows(3)
+                .noLazyFetches()
+                .loaded(ItemRequest.class, 0)
+                .result();
+
+        assertThat(result.size(), equalTo(3));
+        assertThat(result.get(0).getRequest(), equalTo(itemRequest.getId()));
+    }
+
+    @Test
+    void searchItemStatementCountTest() {
+        itemService.create(itemDto, owner.getId());
+        itemService.create(itemDto, user.getId());
+
+        List<ItemDto> result = SqlAssert.measure(entityManager,
+                        () -> itemService.searchItem(user.getId(), "itemDtoNameTest", PageRequest.of(0, 10)))
+                .statements(1)
+                .rows(2)
+                .noLazyFetches()
+                .result();
+
+        assertThat(result.size(), equalTo(2));
+        assertThat(result.get(0).getOwner().getName(), equalTo(owner.getName()));
+    }
+
+    @Test
+    void readsByUnknownUserTest() {
+        itemService.create(itemDto, owner.getId());
+        long unknownId = owner.getId() + 1000;
+
+        Assertions.assertThrows(NotFoundException.class,
+                () -> itemService.searchItem(unknownId, "itemDtoNameTest", PageRequest.of(0, 10)));
+        Assertions.assertThrows(NotFoundException.class,
+                () -> itemService.findAllItemsOwner(unknownId, PageRequest.of(0, 10)));
+    }
+
     @Test
     void searchItemsTest() {
         itemService.create(itemDto, owner.getId());
@@ -142,6 +303,23 @@ public class ItemServiceTest {
         assertThat(result.size(), equalTo(1));
     }
 
+    @Test
+    void findFreeSlotsTest() {
+        ItemDto itemResult = itemService.create(itemDto, owner.getId());
+        Item item = itemRepository.findById(itemResult.getId()).orElseThrow();
+        booking.setItem(item);
+        booking.setStart(booking.getStart().truncatedTo(ChronoUnit.SECONDS));
+        booking.setEnd(booking.getEnd().truncatedTo(ChronoUnit.SECONDS));
+        bookingRepository.save(booking);
+        LocalDateTime start = booking.getStart().minusDays(1);
+        LocalDateTime end = booking.getEnd().plusDays(1);
+
+        List<FreeSlotDto> result = itemService.findFreeSlots(user.getId(), item.getId(), start, end);
+
+        assertThat(result, equalTo(List.of(new FreeSlotDto(start, booking.getStart()),
+                new FreeSlotDto(booking.getEnd(), end))));
+    }
+
     @Test
     void createCommentTest() {
         ItemDto itemResult = itemService.create(itemDto, owner.getId());
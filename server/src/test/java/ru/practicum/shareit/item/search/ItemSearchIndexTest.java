@@ -0,0 +1,82 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.SearchRank;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+public class ItemSearchIndexTest {
+    private ItemSearchIndex index;
+
+    @BeforeEach
+    public void addEnvironsForAll() {
+        index = new ItemSearchIndex();
+        index.put(1L, "Hammer", "Works like a drill", true);
+        index.put(2L, "Power drill", "Cordless", true);
+        index.put(3L, "Drill press", "Bench tool", true);
+        index.put(4L, "DRILL", "Plain", true);
+        index.put(5L, "Drill", "Broken", false);
+    }
+
+    @Test
+    void searchRelevanceOrderTest() {
+        List<Long> result = index.search("drill", 0, 10);
+
+        assertThat(result, equalTo(List.of(4L, 3L, 2L, 1L)));
+    }
+
+    @Test
+    void searchOffsetTest() {
+        assertThat(index.search("drill", 1, 2), equalTo(List.of(3L, 2L)));
+        assertThat(index.search("drill", 4, 2), equalTo(List.of()));
+    }
+
+    @Test
+    void searchAfterTest() {
+        List<Long> result = index.searchAfter("drill", SearchRank.NAME_PREFIX, 3L, 10);
+
+        assertThat(result, equalTo(List.of(2L, 1L)));
+    }
+
+    @Test
+    void searchShortQueryTest() {
+        assertThat(index.search("dr", 0, 10), equalTo(List.of(3L, 4L, 2L, 1L)));
+    }
+
+    @Test
+    void searchMissingTest() {
+        assertThat(index.search("saw", 0, 10), equalTo(List.of()));
+        assertThat(index.search("drills", 0, 10), equalTo(List.of()));
+    }
+
+    @Test
+    void removeTest() {
+        index.remove(3L);
+        index.remove(42L);
+
+        assertThat(index.search("drill", 0, 10), equalTo(List.of(4L, 2L, 1L)));
+        assertThat(index.search("dr", 0, 10), equalTo(List.of(4L, 2L, 1L)));
+    }
+
+    @Test
+    void updateReplacesTokensTest() {
+        index.put(2L, "Circular saw", "Cordless", true);
+        index.put(5L, "Drill", "Repaired", true);
+
+        assertThat(index.search("drill", 0, 10), equalTo(List.of(4L, 5L, 3L, 1L)));
+        assertThat(index.search("saw", 0, 10), equalTo(List.of(2L)));
+        assertThat(index.size(), equalTo(5));
+    }
+
+    @Test
+    void outOfOrderIdsTest() {
+        index.put(10L, "Drill bit", "Steel", true);
+        index.put(7L, "Drill case", "Plastic", true);
+
+        assertThat(index.search("drill", 0, 10), equalTo(List.of(4L, 3L, 7L, 10L, 2L, 1L)));
+    }
+}
@@ -0,0 +1,118 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.SearchRank;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.util.PageCursor;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+
+@Transactional
+@AutoConfigureTestDatabase
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "shareit.search.engine=memory")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class MemoryItemSearchTest {
+    private final ItemSearch itemSearch;
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private final UserService userService;
+    private final EntityManager entityManager;
+    private User owner;
+
+    @BeforeEach
+    public void addEnvironsForAll() {
+        owner = new User();
+        owner.setName("ownerNameTest");
+        owner.setEmail("ownerSearchTest@mail.ru");
+        userRepository.save(owner);
+    }
+
+    @Test
+    void searchFromRebuiltIndexTest() {
+        Item description = addItem("Hammer", "Works like a drill");
+        Item prefix = addItem("Drill press", "Bench tool");
+        Item exact = addItem("Drill", "Plain");
+        ((MemoryItemSearch) itemSearch).rebuild();
+
+        List<Item> first = itemSearch.search("DRILL", owner.getId(), PageRequest.of(0, 2));
+        Item last = first.get(first.size() - 1);
+        List<Item> second = itemSearch.searchAfter("DRILL", owner.getId(),
+                PageCursor.ranked(SearchRank.of(last.getName(), "drill"), last.getId()), 2);
+
+        assertThat(itemSearch, instanceOf(MemoryItemSearch.class));
+        assertThat(ids(first), equalTo(List.of(exact.getId(), prefix.getId())));
+        assertThat(ids(second), equalTo(List.of(description.getId())));
+    }
+
+    @Test
+    void indexAppliedAfterCommitOnlyTest() {
+        Item item = addItem("Drill", "Plain");
+        ((MemoryItemSearch) itemSearch).rebuild();
+        item.setName("Circular saw");
+
+        itemSearch.index(item);
+
+        assertThat(ids(itemSearch.search("drill", owner.getId(), PageRequest.of(0, 10))), equalTo(List.of(item.getId())));
+        assertThat(itemSearch.search("saw", owner.getId(), PageRequest.of(0, 10)).size(), equalTo(0));
+    }
+
+    @Test
+    void pageFilledAfterOwnerDeletedTest() {
+        User deletedOwner = new User();
+        deletedOwner.setName("deletedOwnerNameTest");
+        deletedOwner.setEmail("deletedOwnerSearchTest@mail.ru");
+        userRepository.save(deletedOwner);
+        addItem(deletedOwner, "Drill", "Plain");
+        addItem(deletedOwner, "Drill bit", "Plain");
+        Item prefix = addItem("Drill press", "Bench tool");
+        Item description = addItem("Hammer", "Works like a drill");
+        ((MemoryItemSearch) itemSearch).rebuild();
+
+        userService.deleteUser(deletedOwner.getId());
+        entityManager.flush();
+        entityManager.clear();
+        List<Item> first = itemSearch.search("drill", owner.getId(), PageRequest.of(0, 1));
+        Item last = first.get(first.size() - 1);
+        List<Item> second = itemSearch.searchAfter("drill", owner.getId(),
+                PageCursor.ranked(SearchRank.of(last.getName(), "drill"), last.getId()), 1);
+
+        assertThat(ids(first), equalTo(List.of(prefix.getId())));
+        assertThat(ids(second), equalTo(List.of(description.getId())));
+    }
+
+    private Item addItem(String name, String description) {
+        return addItem(owner, name, description);
+    }
+
+    private Item addItem(User owner, String name, String description) {
+        Item item = new Item();
+        item.setName(name);
+        item.setDescription(description);
+        item.setIsAvailable(Boolean.TRUE);
+        item.setOwner(owner);
+        return itemRepository.save(item);
+    }
+
+    private List<Long> ids(List<Item> items) {
+        return items.stream().map(Item::getId).collect(Collectors.toList());
+    }
+}
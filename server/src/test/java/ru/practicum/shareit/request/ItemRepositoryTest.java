@@ -6,11 +6,11 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.util.SqlAssert;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -50,15 +50,39 @@ public class ItemRepositoryTest {
     @Test
     void findAllByRequestor_IdTest() {
         Sort sort = Sort.by("created").descending();
-        List<ItemRequest> result = itemRequestRepository.findAllByRequestor_Id(user.getId(), sort);
+        List<ItemRequestDto> result = SqlAssert.measure(testEntityManager.getEntityManager(),
+                        () -> itemRequestRepository.findAllByRequestor_Id(user.getId(), sort))
+                .statements(1)
+                .rows(1)
+                .loaded(ItemRequest.class, 0)
+                .result();
 
         assertThat(result, notNullValue());
         assertThat(result.size(), equalTo(1));
     }
 
+    @Test
+    void findAllByRequestor_IdNotBeforeTest() {
+        User other = new User();
+        other.setName("otherNameTest");
+        other.setEmail("otherEmailTest@mail.ru");
+        userRepository.save(other);
+        testEntityManager.flush();
+        testEntityManager.clear();
+        ItemRequestDto request = itemRequestRepository.findAllByRequestor_Id(user.getId(), Sort.unsorted()).get(0);
+
+        List<ItemRequestDto> fromStart = itemRequestRepository.findAllByRequestor_IdNotBefore(other.getId(),
+                request.getCreated().plusSeconds(1), 0L, PageRequest.of(0, 10));
+        List<ItemRequestDto> afterLast = itemRequestRepository.findAllByRequestor_IdNotBefore(other.getId(),
+                request.getCreated(), request.getId(), PageRequest.of(0, 10));
+
+        assertThat(fromStart.size(), equalTo(1));
+        assertThat("isEmpty", afterLast.isEmpty());
+    }
+
     @Test
     void findAllByRequestor_IdNotTest() {
-        Page<ItemRequest> result = itemRequestRepository.findAllByRequestor_IdNot(user.getId(), PageRequest.of(0, 10));
+        List<ItemRequestDto> result = itemRequestRepository.findAllByRequestor_IdNot(user.getId(), PageRequest.of(0, 10));
 
         assertThat(result, notNullValue());
         assertThat("isEmpty", result.isEmpty());
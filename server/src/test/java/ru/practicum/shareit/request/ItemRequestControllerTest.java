@@ -80,7 +80,7 @@ public class ItemRequestControllerTest {
 
     @Test
     void findAllRequestTest() throws Exception {
-        Sort sort = Sort.by("created").descending();
+        Sort sort = Sort.by("created").descending().and(Sort.by("id").descending());
         PageRequest page = PageRequest.of(0, 10, sort);
         when(itemRequestService.findAllRequest(userId, page))
                 .thenReturn(Collections.emptyList());
@@ -6,10 +6,11 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.ItemDto;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserIdIndex;
 import ru.practicum.shareit.user.UserRepository;
 
 import java.util.Collections;
@@ -19,6 +20,7 @@ import java.util.Optional;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 import static org.mockito.Mockito.verify;
@@ -40,7 +42,8 @@ public class ItemRequestServiceImplTest {
 
     @BeforeEach
     public void addEnvironsForAll() {
-        itemRequestService = new ItemRequestServiceImpl(itemRequestRepository, userRepository, itemRepository);
+        itemRequestService = new ItemRequestServiceImpl(itemRequestRepository, userRepository, itemRepository,
+                new UserIdIndex(userRepository));
         user = new User();
         user.setId(1L);
         user.setName("userNameTest");
@@ -79,10 +82,30 @@ public class ItemRequestServiceImplTest {
         verify(userRepository, times(1)).existsById(1L);
     }
 
+    @Test
+    void findAllRequestGroupsItemsByRequestTest() {
+        ItemRequestDto first = new ItemRequestDto(1L, "firstDescriptionTest", null);
+        ItemRequestDto second = new ItemRequestDto(2L, "secondDescriptionTest", null);
+        when(itemRequestRepository.findAllByRequestor_IdNot(anyLong(), any()))
+                .thenReturn(List.of(first, second));
+        when(itemRepository.findAllByRequestIdIn(anyCollection()))
+                .thenReturn(List.of(
+                        new ItemDto(1L, "itemTest1", "descriptionTest1", true, user, 2L),
+                        new ItemDto(2L, "itemTest2", "descriptionTest2", true, user, 1L),
+                        new ItemDto(3L, "itemTest3", "descriptionTest3", true, user, 2L)));
+
+        List<ItemRequestDto> result = itemRequestService.findAllRequest(1L, PageRequest.of(0, 10));
+
+        assertThat(result.get(0).getItems().size(), equalTo(1));
+        assertThat(result.get(1).getItems().size(), equalTo(2));
+        assertThat(result.get(1).getItems().get(1).getId(), equalTo(3L));
+        verify(itemRepository, times(1)).findAllByRequestIdIn(List.of(1L, 2L));
+    }
+
     @Test
     void findAllRequestTest() {
         when(itemRequestRepository.findAllByRequestor_IdNot(anyLong(), any()))
-                .thenReturn(Page.empty());
+                .thenReturn(List.of());
 
         List<ItemRequestDto> result = itemRequestService.findAllRequest(1L, PageRequest.of(0, 10));
 
@@ -11,8 +11,11 @@ import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserIdIndex;
 import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.util.SqlAssert;
 
+import javax.persistence.EntityManager;
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -24,12 +27,15 @@ import static ru.practicum.shareit.request.ItemRequestMapper.dtoInRequest;
 @Transactional
 @AutoConfigureTestDatabase
 @SpringBootTest(
-        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+        webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "shareit.booking-summary.roll-forward.enabled=false")
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 public class ItemRequestServiceTest {
     private final ItemRequestRepository itemRequestRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final UserIdIndex userIdIndex;
+    private final EntityManager entityManager;
     private ItemRequestServiceImpl itemRequestService;
     private ItemRequestDto itemRequestDto;
     private User user;
@@ -37,7 +43,8 @@ public class ItemRequestServiceTest {
 
     @BeforeEach
     public void addEnvironsForAll() {
-        itemRequestService = new ItemRequestServiceImpl(itemRequestRepository, userRepository, itemRepository);
+        itemRequestService = new ItemRequestServiceImpl(itemRequestRepository, userRepository, itemRepository,
+                userIdIndex);
         user = new User();
         user.setName("userNameTest");
         user.setEmail("userEmailTest@mail.ru");
@@ -91,4 +98,39 @@ public class ItemRequestServiceTest {
         assertThat(result.getId(), equalTo(itemRequest.getId()));
         assertThat(result.getItems().size(), equalTo(1));
     }
+
+    @Test
+    void findAllRequestStatementCountTest() {
+        User userNew = new User();
+        userNew.setName("userNewSetName");
+        userNew.setEmail("userNewSetEmail@mail.ru");
+        User userResult = userRepository.save(userNew);
+        userIdIndex.add(userResult);
+        for (int i = 0; i < 3; i++) {
+            User requestor = new User();
+            requestor.setName("requestorNameTest" + i);
+            requestor.setEmail("requestorEmailTest" + i + "@mail.ru");
+            userRepository.save(requestor);
+            ItemRequest request = itemRequestRepository.save(dtoInRequest(itemRequestDto, requestor));
+            Item item = new Item();
+            item.setOwner(requestor);
+            item.setIsAvailable(Boolean.TRUE);
+            item.setName("itemName" + i);
+            item.setDescription("itemDescription" + i);
+            item.setRequest(request);
+            itemRepository.save(item);
+        }
+
+        List<ItemRequestDto> result = SqlAssert.measure(entityManager,
+                        () -> itemRequestService.findAllRequest(userResult.getId(), PageRequest.of(0, 10)))
+                .statements(2)
+                .rows(8)
+                .noLazyFetches()
+                .loaded(ItemRequest.class, 0)
+                .loaded(Item.class, 0)
+                .result();
+
+        assertThat(result.size(), equalTo(4));
+        assertThat(result.get(0).getItems().size(), equalTo(1));
+    }
 }
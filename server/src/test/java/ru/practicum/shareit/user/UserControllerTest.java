@@ -5,12 +5,24 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.util.PageCursor;
 
+import java.time.Duration;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.startsWith;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -102,4 +114,66 @@ public class UserControllerTest {
                 .andExpect(content().json("[]"));
         verify(userService, times(1)).findAllUsers();
     }
+
+    @Test
+    void findAllUsersPageTest() throws Exception {
+        when(userService.findAllUsers(any(PageRequest.class)))
+                .thenReturn(List.of(userDtoResponse));
+
+        mockMvc.perform(get("/users")
+                        .param("from", "0")
+                        .param("size", "1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", PageCursor.of(userDtoResponse.getId()).encode()))
+                .andExpect(jsonPath("$[0].id").value(userDtoResponse.getId()));
+        verify(userService, times(1)).findAllUsers(PageRequest.of(0, 1, Sort.by("id")));
+        verify(userService, never()).findAllUsers();
+    }
+
+    @Test
+    void findAllUsersCursorTest() throws Exception {
+        when(userService.findAllUsers(any(PageCursor.class), eq(2)))
+                .thenReturn(List.of(userDtoResponse));
+
+        mockMvc.perform(get("/users")
+                        .param("size", "2")
+                        .param("cursor", PageCursor.of(userId).encode())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
+                .andExpect(jsonPath("$[0].id").value(userDtoResponse.getId()));
+        verify(userService, times(1)).findAllUsers(PageCursor.of(userId), 2);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void streamAllUsersTest() throws Exception {
+        AtomicReference<String> streamingThread = new AtomicReference<>();
+        doAnswer(invocation -> {
+            streamingThread.set(Thread.currentThread().getName());
+            Consumer<UserDto> consumer = invocation.getArgument(0);
+            consumer.accept(userDtoResponse);
+            consumer.accept(new UserDto(2L, "secondUserTest", "secondUserTest@mail.ru"));
+            return null;
+        }).when(userService).streamAllUsers(any(Consumer.class));
+
+        MvcResult result = mockMvc.perform(get("/users/stream")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String[] lines = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString()
+                .split("\n");
+        assertThat(lines.length, equalTo(2));
+        assertThat(objectMapper.readValue(lines[0], UserDto.class).getId(), equalTo(1L));
+        assertThat(objectMapper.readValue(lines[1], UserDto.class).getId(), equalTo(2L));
+        assertThat(streamingThread.get(), startsWith("streaming-"));
+        assertThat(result.getRequest().getAsyncContext().getTimeout(), equalTo(Duration.ofMinutes(30).toMillis()));
+    }
 }
@@ -0,0 +1,112 @@
+package ru.practicum.shareit.user;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+@Transactional
+@AutoConfigureTestDatabase
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = {"spring.jpa.properties.hibernate.generate_statistics=true",
+                "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN",
+                "shareit.booking-summary.roll-forward.enabled=false"})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class UserIdIndexTest {
+    private final UserIdIndex userIdIndex;
+    private final UserRepository userRepository;
+    private final EntityManager entityManager;
+    private final EntityManagerFactory entityManagerFactory;
+    private User user;
+    private User deleted;
+
+    @BeforeEach
+    public void addEnvironsForAll() {
+        deleted = addUser("deletedIndexTest@mail.ru");
+        user = addUser("userIndexTest@mail.ru");
+        userRepository.delete(deleted);
+        entityManager.flush();
+        userIdIndex.rebuild();
+    }
+
+    @Test
+    void knownUserAcceptedWithoutQueryTest() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        boolean result = userIdIndex.exists(user.getId());
+
+        assertThat(result, equalTo(true));
+        assertThat(statistics.getPrepareStatementCount(), equalTo(0L));
+    }
+
+    @Test
+    void missingUserRejectedWithoutQueryTest() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        boolean result = userIdIndex.exists(deleted.getId());
+
+        assertThat(result, equalTo(false));
+        assertThat(statistics.getPrepareStatementCount(), equalTo(0L));
+    }
+
+    @Test
+    void rebuildDropsUserDeletedOutsideIndexTest() {
+        userRepository.delete(user);
+        entityManager.flush();
+
+        boolean stale = userIdIndex.exists(user.getId());
+        userIdIndex.rebuild();
+
+        assertThat(stale, equalTo(true));
+        assertThat(userIdIndex.exists(user.getId()), equalTo(false));
+    }
+
+    @Test
+    void userCommittedOutsideIndexTest() {
+        User outside = addUser("outsideIndexTest@mail.ru");
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        boolean result = userIdIndex.exists(outside.getId());
+        statistics.clear();
+        boolean cached = userIdIndex.exists(outside.getId());
+
+        assertThat(result, equalTo(true));
+        assertThat(cached, equalTo(true));
+        assertThat(statistics.getPrepareStatementCount(), equalTo(0L));
+    }
+
+    @Test
+    void addedAndRemovedUserTest() {
+        User added = addUser("addedIndexTest@mail.ru");
+        userIdIndex.add(added);
+
+        boolean result = userIdIndex.exists(added.getId());
+        userIdIndex.remove(added.getId());
+
+        assertThat(result, equalTo(true));
+        assertThat(userIdIndex.exists(added.getId()), equalTo(true));
+    }
+
+    private User addUser(String email) {
+        User newUser = new User();
+        newUser.setName("userNameTest");
+        newUser.setEmail(email);
+        return userRepository.save(newUser);
+    }
+}
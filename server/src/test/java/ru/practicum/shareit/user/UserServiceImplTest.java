@@ -7,9 +7,15 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.availability.ItemAvailability;
+import ru.practicum.shareit.booking.summary.ItemBookingSummaries;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearch;
 
-
+import javax.persistence.Cache;
+import javax.persistence.EntityManagerFactory;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -25,12 +31,27 @@ import static ru.practicum.shareit.user.UserMapper.userDtoInUser;
 public class UserServiceImplTest {
     @Mock
     private final UserRepository userRepository;
+    @Mock
+    private final EntityManagerFactory entityManagerFactory;
+    @Mock
+    private final UserIdIndex userIdIndex;
+    @Mock
+    private final ItemBookingSummaries itemBookingSummaries;
+    @Mock
+    private final ItemAvailability itemAvailability;
+    @Mock
+    private final ItemSearch itemSearch;
+    @Mock
+    private final ItemRepository itemRepository;
+    @Mock
+    private Cache entityCache;
     private UserService userService;
     private UserDto userDto;
 
     @BeforeEach
     public void addEnvironsForAll() {
-        userService = new UserServiceImpl(userRepository);
+        userService = new UserServiceImpl(userRepository, entityManagerFactory, userIdIndex, itemBookingSummaries, itemAvailability,
+                itemSearch, itemRepository);
         userDto = new UserDto();
         userDto.setName("userNameTest");
         userDto.setEmail("userEmailTest@mail.ru");
@@ -46,6 +67,7 @@ public class UserServiceImplTest {
         assertThat(result, notNullValue());
         assertThat(result.getName(), equalTo(userDto.getName()));
         verify(userRepository, times(1)).save(any());
+        verify(userIdIndex, times(1)).add(any());
     }
 
     @Test
@@ -86,4 +108,21 @@ public class UserServiceImplTest {
         assertThat(result, notNullValue());
         assertThat("isEmpty", result.isEmpty());
     }
+
+    @Test
+    void deleteUserEvictsCachedItemsTest() {
+        when(entityManagerFactory.getCache())
+                .thenReturn(entityCache);
+        when(itemRepository.findIdsByOwnerId(1L))
+                .thenReturn(List.of(10L, 11L));
+
+        userService.deleteUser(1L);
+
+        verify(userRepository, times(1)).deleteById(1L);
+        verify(entityCache, times(1)).evict(Item.class, 10L);
+        verify(entityCache, times(1)).evict(Item.class, 11L);
+        verify(entityCache, never()).evict(Item.class);
+        verify(itemSearch, times(1)).remove(List.of(10L, 11L));
+        verify(userIdIndex, times(1)).remove(1L);
+    }
 }
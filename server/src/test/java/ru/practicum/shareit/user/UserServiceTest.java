@@ -1,16 +1,31 @@
 package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.availability.ItemAvailability;
+import ru.practicum.shareit.booking.summary.ItemBookingSummaries;
 import ru.practicum.shareit.exception.NotFoundException;
-
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearch;
+import ru.practicum.shareit.util.PageCursor;
+import ru.practicum.shareit.util.SqlAssert;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
@@ -19,17 +34,29 @@ import static org.hamcrest.Matchers.notNullValue;
 @Transactional
 @AutoConfigureTestDatabase
 @SpringBootTest(
-        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+        webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = {"spring.jpa.properties.hibernate.generate_statistics=true",
+                "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN",
+                "shareit.booking-summary.roll-forward.enabled=false"})
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 public class UserServiceTest {
     private UserService userService;
 
     private final UserRepository userRepository;
+    private final EntityManager entityManager;
+    private final EntityManagerFactory entityManagerFactory;
+    private final UserIdIndex userIdIndex;
+    private final ItemBookingSummaries itemBookingSummaries;
+    private final ItemAvailability itemAvailability;
+    private final ItemSearch itemSearch;
+    private final ItemRepository itemRepository;
+    private final JdbcTemplate jdbcTemplate;
     private UserDto userDto;
 
     @BeforeEach
     public void addEnvironsForAll() {
-        userService = new UserServiceImpl(userRepository);
+        userService = new UserServiceImpl(userRepository, entityManagerFactory, userIdIndex, itemBookingSummaries, itemAvailability,
+                itemSearch, itemRepository);
         userDto = new UserDto();
         userDto.setName("userDtoNameTest");
         userDto.setEmail("userDtoEmailTest@mail.ru");
@@ -78,4 +105,82 @@ public class UserServiceTest {
         assertThat(result, notNullValue());
         assertThat(result.size(), equalTo(0));
     }
+
+    @Test
+    void findAllUsersByCursorTest() {
+        List<Long> ids = createUsers(5);
+
+        List<UserDto> first = userService.findAllUsers(PageRequest.of(0, 2, Sort.by("id")));
+        List<UserDto> second = userService.findAllUsers(PageCursor.of(first.get(1).getId()), 2);
+        List<UserDto> last = userService.findAllUsers(PageCursor.of(second.get(1).getId()), 2);
+
+        assertThat(first.stream().map(UserDto::getId).collect(Collectors.toList()), equalTo(ids.subList(0, 2)));
+        assertThat(second.stream().map(UserDto::getId).collect(Collectors.toList()), equalTo(ids.subList(2, 4)));
+        assertThat(last.stream().map(UserDto::getId).collect(Collectors.toList()), equalTo(ids.subList(4, 5)));
+    }
+
+    @Test
+    void streamAllUsersTest() {
+        List<Long> ids = createUsers(5);
+
+        List<UserDto> result = SqlAssert.measure(entityManager, () -> {
+                    List<UserDto> users = new ArrayList<>();
+                    userService.streamAllUsers(users::add);
+                    return users;
+                })
+                .statements(1)
+                .loaded(User.class, 0)
+                .result();
+
+        assertThat(result.stream().map(UserDto::getId).collect(Collectors.toList()), equalTo(ids));
+        assertThat(result.get(0).getEmail(), equalTo("user0@mail.ru"));
+    }
+
+    @Test
+    void findUserByIdUsesEntityCacheTest() {
+        long userId = insertUser();
+        userService.findUserById(userId);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        EntityManager otherSession = entityManagerFactory.createEntityManager();
+
+        User result;
+        try {
+            result = otherSession.find(User.class, userId);
+        } finally {
+            otherSession.close();
+        }
+
+        assertThat(result.getName(), equalTo(userDto.getName()));
+        assertThat(statistics.getPrepareStatementCount(), equalTo(0L));
+        assertThat(statistics.getSecondLevelCacheHitCount(), equalTo(1L));
+    }
+
+    @Test
+    void updateUserRefreshesEntityCacheTest() {
+        long userId = insertUser();
+        userService.findUserById(userId);
+        userDto.setName("userDtoUpdateNameTest");
+        userService.updateUser(userId, userDto);
+        entityManager.flush();
+        entityManager.clear();
+
+        UserDto result = userService.findUserById(userId);
+
+        assertThat(result.getName(), equalTo("userDtoUpdateNameTest"));
+    }
+
+    private List<Long> createUsers(int count) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ids.add(userService.create(new UserDto(null, "user" + i, "user" + i + "@mail.ru")).getId());
+        }
+        return ids;
+    }
+
+    private long insertUser() {
+        // строки, сохранённые через Hibernate в той же транзакции, в кэш второго уровня не попадают
+        jdbcTemplate.update("INSERT INTO users (name, email) VALUES (?, ?)", userDto.getName(), userDto.getEmail());
+        return jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", Long.class, userDto.getEmail());
+    }
 }
@@ -0,0 +1,57 @@
+package ru.practicum.shareit.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exception.NotFoundEntityExeption;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+
+public class PageCursorTest {
+
+    @Test
+    void encodeDecodeTimedTest() {
+        PageCursor cursor = PageCursor.of(LocalDateTime.of(2024, 5, 20, 12, 0, 1, 500), 42L);
+
+        PageCursor result = PageCursor.decodeTimed(cursor.encode());
+
+        assertThat(result, equalTo(cursor));
+    }
+
+    @Test
+    void encodeDecodeIdTest() {
+        PageCursor result = PageCursor.decode(PageCursor.of(7L).encode());
+
+        assertThat(result.getId(), equalTo(7L));
+        assertThat(result.getTime(), nullValue());
+    }
+
+    @Test
+    void encodeDecodeRankedTest() {
+        PageCursor cursor = PageCursor.ranked(2, 15L);
+
+        PageCursor result = PageCursor.decodeRanked(cursor.encode());
+
+        assertThat(result, equalTo(cursor));
+        assertThat(result.getRank(), equalTo(2));
+    }
+
+    @Test
+    void decodeInvalidTest() {
+        Assertions.assertThrows(NotFoundEntityExeption.class, () -> PageCursor.decode("not a cursor"));
+        Assertions.assertThrows(NotFoundEntityExeption.class, () -> PageCursor.decodeTimed(PageCursor.of(1L).encode()));
+        Assertions.assertThrows(NotFoundEntityExeption.class, () -> PageCursor.decodeRanked(PageCursor.of(1L).encode()));
+    }
+
+    @Test
+    void toResponseTest() {
+        assertThat(PageCursor.toResponse(List.of(1L), 2, PageCursor::of).getHeaders().containsKey(Constants.NEXT_CURSOR),
+                equalTo(false));
+        assertThat(PageCursor.toResponse(List.of(1L, 2L), 2, PageCursor::of).getHeaders().getFirst(Constants.NEXT_CURSOR),
+                equalTo(PageCursor.of(2L).encode()));
+    }
+}
@@ -0,0 +1,99 @@
+package ru.practicum.shareit.util;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import javax.persistence.EntityManager;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+/**
+ * Проверка числа SQL-запросов на один вызов. Перед вызовом контекст персистентности сбрасывается в базу и
+ * очищается, как в начале нового HTTP-запроса, и обнуляется статистика Hibernate.
+ *
+ * <pre>
+ * List&lt;BookingDto&gt; result = SqlAssert.measure(entityManager, () -&gt; bookingService.findAllByBooker(...))
+ *         .statements(2)
+ *         .rows(2)
+ *         .noLazyFetches()
+ *         .result();
+ * </pre>
+ */
+public final class SqlAssert<T> {
+    private final T result;
+    private final long statements;
+    private final long rows;
+    private final long lazyFetches;
+    private final List<String> queries;
+    private final Map<String, Long> entityLoads = new HashMap<>();
+
+    private SqlAssert(T result, Statistics statistics) {
+        this.result = result;
+        this.statements = statistics.getPrepareStatementCount();
+        this.lazyFetches = statistics.getEntityFetchCount() + statistics.getCollectionFetchCount();
+        this.queries = Arrays.asList(statistics.getQueries());
+        this.rows = queries.stream()
+                .mapToLong(query -> statistics.getQueryStatistics(query).getExecutionRowCount())
+                .sum();
+        for (String entity : statistics.getEntityNames()) {
+            entityLoads.put(entity, statistics.getEntityStatistics(entity).getLoadCount());
+        }
+    }
+
+    public static <T> SqlAssert<T> measure(EntityManager entityManager, Supplier<T> action) {
+        final Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        entityManager.flush();
+        entityManager.clear();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        return new SqlAssert<>(action.get(), statistics);
+    }
+
+    public T result() {
+        return result;
+    }
+
+    public SqlAssert<T> statements(long expected) {
+        assertThat("Число SQL-запросов, выполнены : " + queries, statements, equalTo(expected));
+        return this;
+    }
+
+    public SqlAssert<T> statementsAtMost(long expected) {
+        assertThat("Число SQL-запросов, выполнены : " + queries, statements, lessThanOrEqualTo(expected));
+        return this;
+    }
+
+    public SqlAssert<T> rows(long expected) {
+        assertThat("Число строк в результатах запросов : " + queries, rows, equalTo(expected));
+        return this;
+    }
+
+    /**
+     * Ни одна сущность или коллекция не догружалась отдельным запросом (признак N+1).
+     */
+    public SqlAssert<T> noLazyFetches() {
+        assertThat("Догрузка связанных сущностей отдельными запросами", lazyFetches, equalTo(0L));
+        return this;
+    }
+
+    public SqlAssert<T> loaded(Class<?> entity, long expected) {
+        assertThat("Загружено сущностей " + entity.getSimpleName(),
+                entityLoads.getOrDefault(entity.getName(), 0L), equalTo(expected));
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "statements=" + statements + ", rows=" + rows + ", lazyFetches=" + lazyFetches +
+                ", queries=" + queries;
+    }
+}